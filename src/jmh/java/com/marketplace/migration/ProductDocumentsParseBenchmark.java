@@ -0,0 +1,48 @@
+package com.marketplace.migration;
+
+import com.marketplace.model.DocumentInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Legacy string-encoded documents parsing; since the migration this only runs once per legacy row
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductDocumentsParseBenchmark {
+
+    private String legacyDocuments;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 5; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"doc-").append(i)
+                .append("\",\"fileName\":\"document-").append(i)
+                .append(".pdf\",\"s3Key\":\"marketplace/doc-").append(i)
+                .append(".pdf\",\"contentType\":\"application/pdf\",\"fileSize\":250000}");
+        }
+        legacyDocuments = json.append(']').toString();
+    }
+
+    @Benchmark
+    public List<DocumentInfo> parseLegacyDocuments() throws Exception {
+        return ProductDocumentsMigration.parse(legacyDocuments);
+    }
+}
@@ -0,0 +1,56 @@
+package com.marketplace.repository;
+
+import com.marketplace.enums.OfferStatus;
+import com.marketplace.model.Offer;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// In-memory OfferRepository for benchmarks: listings are grouped once up front, so lookups cost a map get
+public class FakeOfferRepository extends UnsupportedMongoRepository<Offer, String> implements OfferRepository {
+
+    private final Map<String, Offer> byOfferId = new HashMap<>();
+    private final Map<String, List<Offer>> bySellerId = new HashMap<>();
+    private final Map<String, List<Offer>> byBuyerId = new HashMap<>();
+    private final Map<String, List<Offer>> byProductId = new HashMap<>();
+
+    // Offers are expected newest first, the order the real queries return
+    public FakeOfferRepository(List<Offer> offers) {
+        for (Offer offer : offers) {
+            byOfferId.put(offer.getOfferId(), offer);
+            bySellerId.computeIfAbsent(offer.getSellerId(), id -> new ArrayList<>()).add(offer);
+            byBuyerId.computeIfAbsent(offer.getBuyerId(), id -> new ArrayList<>()).add(offer);
+            byProductId.computeIfAbsent(offer.getProductId(), id -> new ArrayList<>()).add(offer);
+        }
+    }
+
+    @Override
+    public Optional<Offer> findByOfferId(String offerId) {
+        return Optional.ofNullable(byOfferId.get(offerId));
+    }
+
+    @Override
+    public List<Offer> findBySellerIdOrderByCreatedAtDesc(String sellerId) {
+        return new ArrayList<>(bySellerId.getOrDefault(sellerId, List.of()));
+    }
+
+    @Override
+    public List<Offer> findByBuyerIdOrderByCreatedAtDesc(String buyerId) {
+        return new ArrayList<>(byBuyerId.getOrDefault(buyerId, List.of()));
+    }
+
+    @Override
+    public List<Offer> findByProductIdOrderByCreatedAtDesc(String productId) {
+        return new ArrayList<>(byProductId.getOrDefault(productId, List.of()));
+    }
+
+    @Override
+    public Optional<Offer> updateIfStatus(String offerId, String actorField, String actorId,
+                                          OfferStatus expectedStatus, Update update) {
+        throw unsupported();
+    }
+}
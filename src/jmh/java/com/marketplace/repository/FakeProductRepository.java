@@ -0,0 +1,111 @@
+package com.marketplace.repository;
+
+import com.marketplace.dto.ProductCursor;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.Product;
+import com.marketplace.model.ProductSummary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// In-memory ProductRepository for benchmarks, covering the detail, feed and name-join lookups.
+// Saves are accepted and discarded, so create benchmarks do not grow the fake.
+public class FakeProductRepository extends UnsupportedMongoRepository<Product, String> implements ProductRepository {
+
+    private final Map<String, Product> byProductId = new HashMap<>();
+    private final List<ProductSummary> feed;
+
+    // Summaries are expected in feed order (newest first), as the real feed query returns them
+    public FakeProductRepository(List<Product> products, List<ProductSummary> feed) {
+        for (Product product : products) {
+            byProductId.put(product.getProductId(), product);
+        }
+        this.feed = feed;
+    }
+
+    @Override
+    public <S extends Product> S save(S product) {
+        return product;
+    }
+
+    @Override
+    public Optional<Product> findByProductIdAndIsActiveTrue(String productId) {
+        return Optional.ofNullable(byProductId.get(productId));
+    }
+
+    @Override
+    public Optional<Product> findByProductIdOrIdAndIsActiveTrue(String productId) {
+        return Optional.ofNullable(byProductId.get(productId));
+    }
+
+    @Override
+    public List<Product> findNamesByProductIdIn(Collection<String> productIds) {
+        List<Product> products = new ArrayList<>(productIds.size());
+        for (String productId : productIds) {
+            Product product = byProductId.get(productId);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    @Override
+    public List<ProductSummary> findActiveSummaries(ProductCategory category, String location, ProductCursor after,
+                                                    int limit) {
+        // Only the unfiltered first page is benchmarked
+        if (category != null || location != null || after != null) {
+            throw unsupported();
+        }
+        // A fresh list per call, like a real query; the service trims it in place
+        return new ArrayList<>(feed.subList(0, Math.min(limit, feed.size())));
+    }
+
+    @Override
+    public Stream<ProductSummary> streamActiveSummaries(ProductCategory category, String location) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<ProductSummary> searchActiveSummaries(ProductCategory category, String search, String location,
+                                                      int limit) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesBySellerIdOrderByCreatedAtDesc(String sellerId) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesByProductIdInAndIsActiveTrue(Collection<String> productIds) {
+        throw unsupported();
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesByIsActiveTrueOrderByCreatedAtDesc() {
+        throw unsupported();
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesByIsActiveTrueAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+            LocalDateTime createdAt) {
+        throw unsupported();
+    }
+
+    @Override
+    public long countByIsActiveTrue() {
+        return feed.size();
+    }
+
+    @Override
+    public Optional<ProductSummary> findFirstSummaryByIsActiveTrueOrderByCreatedAtDesc() {
+        return feed.stream().findFirst();
+    }
+}
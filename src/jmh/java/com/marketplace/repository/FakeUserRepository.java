@@ -0,0 +1,51 @@
+package com.marketplace.repository;
+
+import com.marketplace.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// In-memory UserRepository for benchmarks
+public class FakeUserRepository extends UnsupportedMongoRepository<User, String> implements UserRepository {
+
+    private final Map<String, User> byUserId = new HashMap<>();
+    private final Map<String, User> byEmail = new HashMap<>();
+
+    public FakeUserRepository(List<User> users) {
+        for (User user : users) {
+            byUserId.put(user.getUserId(), user);
+            byEmail.put(user.getEmail(), user);
+        }
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(byEmail.get(email));
+    }
+
+    @Override
+    public Optional<User> findByUserId(String userId) {
+        return Optional.ofNullable(byUserId.get(userId));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return byEmail.containsKey(email);
+    }
+
+    @Override
+    public List<User> findContactsByUserIdIn(Collection<String> userIds) {
+        List<User> users = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            User user = byUserId.get(userId);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+}
@@ -0,0 +1,119 @@
+package com.marketplace.repository;
+
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.Product;
+import com.marketplace.model.ProductSummary;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// First feed page (all categories, and one category) from the server-side query in ProductRepositoryCustomImpl,
+// against the path it replaced: every active listing loaded as a full Product, then filtered and paged in Java.
+// Mongo is the in-process mongo-java-server, which scans and sorts in memory instead of walking the
+// { isActive, category, createdAt, productId } indexes, so the query side is an upper bound for a real server.
+// Run with: mvn verify -Pjmh -DskipTests -Djmh.args="ProductFeedQueryBenchmark"
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class ProductFeedQueryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final ProductCategory[] CATEGORIES = ProductCategory.values();
+    private static final long BASE_TIME = 1_704_067_200_000L;
+
+    @Param({"10000", "100000", "1000000"})
+    public int listings;
+
+    private MongoServer mongoServer;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private ProductRepositoryCustomImpl repository;
+
+    @Setup
+    public void setUp() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "marketplace_feed_benchmark");
+        repository = new ProductRepositoryCustomImpl(mongoTemplate);
+
+        MongoCollection<Document> products = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class));
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            batch.add(new Document("productId", "product-" + i)
+                    .append("sellerId", "seller-" + (i % 1000))
+                    .append("sellerName", "Seller " + (i % 1000))
+                    .append("name", "Startup " + i)
+                    .append("description", "Profitable B2B product with recurring revenue")
+                    .append("category", CATEGORIES[i % CATEGORIES.length].name())
+                    .append("revenue", 120_000.0)
+                    .append("askValue", 450_000.0)
+                    .append("profit", 40_000.0)
+                    .append("location", "New York")
+                    .append("imageS3Key", "marketplace/image-" + i + ".png")
+                    .append("documents", List.of())
+                    // One in ten listings is inactive
+                    .append("isActive", i % 10 != 0)
+                    .append("createdAt", new Date(BASE_TIME + i * 60_000L)));
+            if (batch.size() == 10_000) {
+                products.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            products.insertMany(batch);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Benchmark
+    public List<ProductSummary> firstPage() {
+        return repository.findActiveSummaries(null, null, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<ProductSummary> firstCategoryPage() {
+        return repository.findActiveSummaries(ProductCategory.SAAS, null, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Product> firstCategoryPageBaseline() {
+        List<Product> active = mongoTemplate.find(new Query(Criteria.where("isActive").is(true))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt")), Product.class);
+        return active.stream()
+                .filter(product -> product.getCategory() == ProductCategory.SAAS)
+                .limit(PAGE_SIZE)
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.marketplace.repository;
+
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Base for the benchmark repository fakes: every generic MongoRepository method throws, so a benchmark that
+// reaches one it did not expect fails loudly instead of measuring a silent no-op
+public abstract class UnsupportedMongoRepository<T, ID> implements MongoRepository<T, ID> {
+
+    protected static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Not needed by the benchmarks");
+    }
+
+    @Override
+    public <S extends T> S save(S entity) { throw unsupported(); }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) { throw unsupported(); }
+
+    @Override
+    public Optional<T> findById(ID id) { throw unsupported(); }
+
+    @Override
+    public boolean existsById(ID id) { throw unsupported(); }
+
+    @Override
+    public List<T> findAll() { throw unsupported(); }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) { throw unsupported(); }
+
+    @Override
+    public long count() { throw unsupported(); }
+
+    @Override
+    public void deleteById(ID id) { throw unsupported(); }
+
+    @Override
+    public void delete(T entity) { throw unsupported(); }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) { throw unsupported(); }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) { throw unsupported(); }
+
+    @Override
+    public void deleteAll() { throw unsupported(); }
+
+    @Override
+    public List<T> findAll(Sort sort) { throw unsupported(); }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) { throw unsupported(); }
+
+    @Override
+    public <S extends T> S insert(S entity) { throw unsupported(); }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) { throw unsupported(); }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) { throw unsupported(); }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) { throw unsupported(); }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) { throw unsupported(); }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) { throw unsupported(); }
+
+    @Override
+    public <S extends T> long count(Example<S> example) { throw unsupported(); }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) { throw unsupported(); }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+}
@@ -0,0 +1,126 @@
+package com.marketplace.security;
+
+import com.marketplace.enums.UserRole;
+import com.marketplace.model.User;
+import com.marketplace.repository.UserRepository;
+import com.marketplace.service.UserService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Authenticating a request with a bearer token: JwtAuthenticationFilter building the principal from the claims,
+// against the path it replaced, which loaded the user from Mongo on every request. Both use the shared parser,
+// so the difference is the user lookup. Mongo is the in-process mongo-java-server over loopback.
+// SampleTime reports percentiles; compare the p0.99 rows.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private static final int USERS = 1000;
+
+    private MongoServer mongoServer;
+    private MongoClient client;
+    private JwtTokenProvider jwtTokenProvider;
+    private JwtAuthenticationFilter filter;
+    private UserService userService;
+    private final List<String> tokens = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        MongoTemplate mongoTemplate = new MongoTemplate(client, "marketplace_auth_benchmark");
+        UserRepository userRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(UserRepository.class);
+
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret",
+                "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init");
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String email = "user-" + i + "@example.com";
+            users.add(new User("user-" + i, "User " + i, email, "unused", "555-0100", UserRole.BOTH, "New York"));
+            tokens.add(jwtTokenProvider.generateToken("user-" + i, email));
+        }
+        mongoTemplate.insert(users, User.class);
+
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, new SimpleMeterRegistry());
+        userService = new UserService(userRepository, null, jwtTokenProvider);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Benchmark
+    public Authentication claimsOnly() throws ServletException, IOException {
+        MockHttpServletRequest request = nextRequest();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Authentication databaseLookupBaseline() {
+        MockHttpServletRequest request = nextRequest();
+        String jwt = request.getHeader("Authorization").substring(7);
+        if (jwtTokenProvider.validateToken(jwt)) {
+            UserDetails userDetails = userService.loadUserByUserId(jwtTokenProvider.getUserIdFromToken(jwt));
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        return takeAuthentication();
+    }
+
+    private MockHttpServletRequest nextRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/offers/received");
+        request.addHeader("Authorization", "Bearer " + tokens.get(next++ % USERS));
+        return request;
+    }
+
+    private static Authentication takeAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
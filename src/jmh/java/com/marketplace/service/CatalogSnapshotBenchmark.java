@@ -0,0 +1,80 @@
+package com.marketplace.service;
+
+import com.marketplace.dto.ProductCursor;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.ProductSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// In-memory feed filtering: CatalogSnapshot.page is what replaced the stream filter chain in getProducts
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogSnapshotBenchmark {
+
+    private static final ProductCategory[] CATEGORIES = ProductCategory.values();
+    private static final int LOCATIONS = 50;
+
+    @Param({ "1000", "10000", "100000" })
+    public int catalogSize;
+
+    private List<ProductSummary> products;
+    private CatalogSnapshot snapshot;
+    private ProductCursor middleCursor;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        products = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            ProductSummary product = new ProductSummary();
+            product.setProductId(String.format("product-%08d", i));
+            product.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            product.setLocation("City " + (i % LOCATIONS));
+            product.setCreatedAt(base.plusSeconds(i));
+            products.add(product);
+        }
+        snapshot = CatalogSnapshot.of(products);
+
+        ProductSummary middle = snapshot.page(null, null, null, catalogSize / 2).get(catalogSize / 2 - 1);
+        middleCursor = new ProductCursor(middle.getCreatedAt(), middle.getProductId());
+    }
+
+    @Benchmark
+    public List<ProductSummary> firstPage() {
+        return snapshot.page(null, null, null, 21);
+    }
+
+    @Benchmark
+    public List<ProductSummary> categoryAndLocation() {
+        return snapshot.page(ProductCategory.FINTECH, "city 1", null, 21);
+    }
+
+    @Benchmark
+    public List<ProductSummary> pageAfterCursor() {
+        return snapshot.page(ProductCategory.SAAS, null, middleCursor, 21);
+    }
+
+    // Cost of a full rebuild in CatalogSnapshotService.refresh
+    @Benchmark
+    public CatalogSnapshot rebuild() {
+        return CatalogSnapshot.of(products);
+    }
+}
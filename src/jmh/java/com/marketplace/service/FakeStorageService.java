@@ -0,0 +1,34 @@
+package com.marketplace.service;
+
+import java.io.InputStream;
+import java.time.Duration;
+
+// In-memory StorageService for benchmarks: URL building without any network or signing cost
+public class FakeStorageService implements StorageService {
+
+    private static final String BASE_URL = "https://bucket.example.com/";
+
+    @Override
+    public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        return StorageService.generateFileKey(fileName);
+    }
+
+    @Override
+    public String getFileUrl(String key) {
+        return BASE_URL + key;
+    }
+
+    @Override
+    public Duration getUrlLifetime() {
+        return Duration.ofHours(12);
+    }
+
+    @Override
+    public void deleteFile(String key) {
+    }
+
+    @Override
+    public InputStream openFile(String key) {
+        return InputStream.nullInputStream();
+    }
+}
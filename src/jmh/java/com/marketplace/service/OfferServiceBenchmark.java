@@ -0,0 +1,79 @@
+package com.marketplace.service;
+
+import com.marketplace.enums.OfferStatus;
+import com.marketplace.enums.UserRole;
+import com.marketplace.model.Offer;
+import com.marketplace.model.Product;
+import com.marketplace.model.User;
+import com.marketplace.repository.FakeOfferRepository;
+import com.marketplace.repository.FakeProductRepository;
+import com.marketplace.repository.FakeUserRepository;
+import com.marketplace.repository.OfferRepository;
+import com.marketplace.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Response-map building for the received/sent offer listings, with in-memory repository fakes
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OfferServiceBenchmark {
+
+    @Param({ "10", "200" })
+    public int offerCount;
+
+    private OfferService offerService;
+
+    @Setup
+    public void setUp() {
+        List<Offer> offers = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < offerCount; i++) {
+            Offer offer = new Offer("offer-" + i, "product-" + i, "buyer-1", "John Buyer",
+                    "buyer@example.com", "seller-1", 1000.0 + i, "Interested");
+            // Every other offer accepted, so sent offers include seller contacts
+            offer.setStatus(i % 2 == 0 ? OfferStatus.ACCEPTED : OfferStatus.PENDING);
+            offers.add(offer);
+
+            Product product = new Product();
+            product.setProductId("product-" + i);
+            product.setName("Product " + i);
+            products.add(product);
+        }
+        User seller = new User("seller-1", "Jane Seller", "seller@example.com", "password", "9876543210",
+                UserRole.SELLER, "Los Angeles");
+
+        OfferRepository offerRepository = new FakeOfferRepository(offers);
+        ProductRepository productRepository = new FakeProductRepository(products, List.of());
+        UserService userService = new UserService(new FakeUserRepository(List.of(seller)), null, null);
+
+        offerService = new OfferService(offerRepository, productRepository, userService);
+    }
+
+    @Benchmark
+    public Map<String, Object> receivedOffers() {
+        return offerService.getReceivedOffers("seller-1");
+    }
+
+    @Benchmark
+    public Map<String, Object> sentOffers() {
+        return offerService.getSentOffers("buyer-1");
+    }
+}
@@ -0,0 +1,143 @@
+package com.marketplace.service;
+
+import com.marketplace.dto.ProductCreateRequest;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.enums.UserRole;
+import com.marketplace.model.User;
+import com.marketplace.repository.FakeProductRepository;
+import com.marketplace.repository.FakeUserRepository;
+import com.marketplace.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// createProduct with an image and N documents, uploads on the shared upload pool vs one after another on the
+// request thread (the path before uploads ran concurrently). Storage is LocalStorageService with a fixed delay
+// per upload standing in for an S3 PUT round trip.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductCreateBenchmark {
+
+    @Param({"1", "5", "10"})
+    public int documents;
+
+    @Param({"20"})
+    public long uploadLatencyMillis;
+
+    private Path storageRoot;
+    private ExecutorService uploadExecutor;
+    private ProductService concurrentService;
+    private ProductService serialService;
+    private ProductCreateRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        storageRoot = Files.createTempDirectory("product-create-benchmark");
+        StorageService storageService = slowLocalStorage(storageRoot, Duration.ofMillis(uploadLatencyMillis));
+        ProductRepository productRepository = new FakeProductRepository(List.of(), List.of());
+        UserService userService = new UserService(new FakeUserRepository(List.of(seller())), null, null);
+        CatalogSnapshotService catalogSnapshotService = new CatalogSnapshotService(productRepository);
+        CatalogVersionService catalogVersionService =
+                new CatalogVersionService(productRepository, storageService, catalogSnapshotService);
+        ProductDetailCache productDetailCache =
+                new ProductDetailCache(storageService, new SimpleMeterRegistry(), 100, Duration.ofMinutes(30));
+
+        // Same size as the app.upload.max-concurrency default
+        uploadExecutor = Executors.newFixedThreadPool(16);
+        concurrentService = new ProductService(productRepository, storageService, userService, uploadExecutor,
+                productDetailCache, catalogSnapshotService, catalogVersionService);
+        serialService = new ProductService(productRepository, storageService, userService, Runnable::run,
+                productDetailCache, catalogSnapshotService, catalogVersionService);
+
+        request = request(documents);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        uploadExecutor.shutdownNow();
+        FileSystemUtils.deleteRecursively(storageRoot);
+    }
+
+    @Benchmark
+    public Map<String, Object> concurrentUploads() {
+        return concurrentService.createProduct(request, "seller-1");
+    }
+
+    @Benchmark
+    public Map<String, Object> serialUploads() {
+        return serialService.createProduct(request, "seller-1");
+    }
+
+    private static StorageService slowLocalStorage(Path root, Duration latency) throws IOException {
+        LocalStorageService storageService = new LocalStorageService() {
+            @Override
+            public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+                try {
+                    Thread.sleep(latency.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted before upload", e);
+                }
+                return super.uploadFile(inputStream, contentLength, fileName, contentType);
+            }
+        };
+        ReflectionTestUtils.setField(storageService, "rootDirectory", root.toString());
+        ReflectionTestUtils.setField(storageService, "baseUrl", "/api/files");
+        storageService.init();
+        return storageService;
+    }
+
+    private static ProductCreateRequest request(int documentCount) {
+        ProductCreateRequest request = new ProductCreateRequest();
+        request.setName("Analytics SaaS");
+        request.setDescription("Profitable B2B analytics product with recurring revenue");
+        request.setCategory(ProductCategory.SAAS);
+        request.setRevenue(120_000.0);
+        request.setAskValue(450_000.0);
+        request.setProfit(40_000.0);
+        request.setLocation("New York");
+        request.setImage(new MockMultipartFile("image", "image.png", "image/png", new byte[64 * 1024]));
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < documentCount; i++) {
+            files.add(new MockMultipartFile("documents", "document-" + i + ".pdf", "application/pdf",
+                    new byte[256 * 1024]));
+        }
+        request.setDocuments(files);
+        return request;
+    }
+
+    private static User seller() {
+        return new User("seller-1", "Jane Seller", "seller@example.com", "unused", "555-0100", UserRole.SELLER,
+                "New York");
+    }
+}
@@ -0,0 +1,105 @@
+package com.marketplace.service;
+
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.DocumentInfo;
+import com.marketplace.model.Product;
+import com.marketplace.model.ProductSummary;
+import com.marketplace.repository.FakeProductRepository;
+import com.marketplace.repository.FakeUserRepository;
+import com.marketplace.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Product detail mapping (sanitizeProduct) and feed page mapping, with in-memory repository fakes.
+// The detail entry is invalidated before every call so each one goes through the mapping.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductServiceBenchmark {
+
+    private ProductService productService;
+    private ProductDetailCache productDetailCache;
+
+    @Setup
+    public void setUp() {
+        ProductRepository productRepository = new FakeProductRepository(List.of(product()), summaries(21));
+        StorageService storageService = new FakeStorageService();
+        productDetailCache = new ProductDetailCache(storageService, new SimpleMeterRegistry(), 10, Duration.ofMinutes(30));
+        // Snapshot mode is off by default, so the feed goes through the repository
+        CatalogSnapshotService catalogSnapshotService = new CatalogSnapshotService(productRepository);
+
+        productService = new ProductService(productRepository, storageService,
+                new UserService(new FakeUserRepository(List.of()), null, null),
+                Runnable::run, productDetailCache,
+                catalogSnapshotService, new CatalogVersionService(productRepository, storageService, catalogSnapshotService));
+        // The page-size @Value defaults are not applied outside Spring
+        ReflectionTestUtils.setField(productService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(productService, "maxPageSize", 100);
+    }
+
+    @Benchmark
+    public Map<String, Object> productDetails() {
+        // A size-0 cache would still serve hits until its asynchronous eviction runs
+        productDetailCache.invalidate("product-1");
+        return productService.getProductDetails("product-1");
+    }
+
+    @Benchmark
+    public Map<String, Object> feedPage() {
+        return productService.getProducts(null, null, null, null, 20);
+    }
+
+    private static Product product() {
+        List<DocumentInfo> documents = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            documents.add(new DocumentInfo("doc-" + i, "document-" + i + ".pdf", "marketplace/doc-" + i + ".pdf",
+                    "application/pdf", 250_000L));
+        }
+        Product product = new Product("product-1", "seller-1", "Jane Seller", "seller@example.com",
+                "Analytics SaaS", "Profitable B2B analytics product with recurring revenue", ProductCategory.SAAS,
+                120_000.0, 450_000.0, 40_000.0, "New York", "https://example.com", "marketplace/image.png", documents);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        return product;
+    }
+
+    private static List<ProductSummary> summaries(int count) {
+        List<ProductSummary> summaries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ProductSummary summary = new ProductSummary();
+            summary.setProductId("product-" + i);
+            summary.setSellerId("seller-1");
+            summary.setSellerName("Jane Seller");
+            summary.setName("Product " + i);
+            summary.setDescription("Profitable B2B analytics product with recurring revenue");
+            summary.setCategory(ProductCategory.SAAS);
+            summary.setRevenue(120_000.0);
+            summary.setAskValue(450_000.0);
+            summary.setProfit(40_000.0);
+            summary.setLocation("New York");
+            summary.setImageS3Key("marketplace/image-" + i + ".png");
+            summary.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).minusMinutes(i));
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,88 @@
+package com.marketplace.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Semaphore;
+
+// Executor for async MVC responses (GET /api/products/stream). Each stream holds a thread for its whole
+// duration, so the pool is sized to the number of concurrent streams allowed and has no queue: once it is
+// full, further streams are rejected with 503 instead of waiting behind the running ones.
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+    private final AsyncTaskExecutor mvcAsyncExecutor;
+
+    public AsyncRequestConfig(@Qualifier("mvcAsyncExecutor") AsyncTaskExecutor mvcAsyncExecutor) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+
+    // Static so the executor can be created before this configurer, which depends on it
+    @Bean(name = "mvcAsyncExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public static ThreadPoolTaskExecutor mvcAsyncExecutor(@Value("${app.mvc.async.max-concurrency:64}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(0);
+        return executor;
+    }
+
+    // spring.threads.virtual.enabled: one virtual thread per stream, with the same concurrency bound
+    @Bean(name = "mvcAsyncExecutor", destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public static SimpleAsyncTaskExecutor virtualMvcAsyncExecutor(@Value("${app.mvc.async.max-concurrency:64}") int maxConcurrency) {
+        SimpleAsyncTaskExecutor executor = new RejectingVirtualThreadExecutor(maxConcurrency);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    // SimpleAsyncTaskExecutor's own concurrency limit blocks the submitting thread once it is reached;
+    // this takes a permit without waiting and rejects the task when none is left
+    static class RejectingVirtualThreadExecutor extends SimpleAsyncTaskExecutor {
+
+        private final int maxConcurrency;
+        private final Semaphore permits;
+
+        RejectingVirtualThreadExecutor(int maxConcurrency) {
+            super("mvc-async-");
+            this.maxConcurrency = maxConcurrency;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        protected void doExecute(Runnable task) {
+            if (!permits.tryAcquire()) {
+                throw new TaskRejectedException("All " + maxConcurrency + " async request threads are busy");
+            }
+            try {
+                super.doExecute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+}
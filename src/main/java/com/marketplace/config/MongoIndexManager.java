@@ -0,0 +1,118 @@
+package com.marketplace.config;
+
+import com.marketplace.model.Favorite;
+import com.marketplace.model.Offer;
+import com.marketplace.model.Product;
+import com.marketplace.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Single place where every MongoDB index is declared. Each index backs one or more repository queries;
+// they are ensured once all beans exist and before the web server starts accepting requests, which is a
+// no-op for indexes that already exist.
+@Component
+public class MongoIndexManager implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    // Queries that fail outright without these ($text needs a text index), so startup fails if one cannot be built.
+    // The rest only cost performance when missing, or fail on existing duplicates that need manual cleanup.
+    static final Set<String> REQUIRED_INDEXES = Set.of("Product_TextIndex");
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexManager(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Map<Class<?>, List<IndexDefinition>> getIndexDefinitions() {
+        Map<Class<?>, List<IndexDefinition>> indexes = new LinkedHashMap<>();
+
+        indexes.put(Product.class, List.of(
+            // findByProductIdAndIsActiveTrue, findByProductIdOrIdAndIsActiveTrue, $in batch lookups
+            new Index().on("productId", Sort.Direction.ASC).named("productId"),
+            // findSummariesBySellerIdOrderByCreatedAtDesc
+            new Index().on("sellerId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC).named("seller_created"),
+            // Feed keyset pages and snapshot polling on createdAt
+            new Index().on("isActive", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC)
+                .on("productId", Sort.Direction.DESC).named("active_created_product"),
+            // Feed keyset pages filtered by category
+            new Index().on("isActive", Sort.Direction.ASC).on("category", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC).on("productId", Sort.Direction.DESC)
+                .named("active_category_created_product"),
+            // searchActiveSummaries ($text)
+            new TextIndexDefinition.TextIndexDefinitionBuilder()
+                .onField("name", 3F)
+                .onField("description")
+                .named("Product_TextIndex")
+                .build()
+        ));
+
+        indexes.put(Offer.class, List.of(
+            // findByOfferId
+            new Index().on("offerId", Sort.Direction.ASC).unique().named("offerId"),
+            // findBySellerIdOrderByCreatedAtDesc
+            new Index().on("sellerId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC).named("seller_created"),
+            // findByBuyerIdOrderByCreatedAtDesc
+            new Index().on("buyerId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC).named("buyer_created"),
+            // findByProductIdOrderByCreatedAtDesc
+            new Index().on("productId", Sort.Direction.ASC).on("createdAt", Sort.Direction.DESC).named("product_created")
+        ));
+
+        indexes.put(Favorite.class, List.of(
+            // findByUserId (prefix) and every (userId, productId) lookup; also stops duplicate favorites
+            new Index().on("userId", Sort.Direction.ASC).on("productId", Sort.Direction.ASC).unique().named("user_product")
+        ));
+
+        indexes.put(User.class, List.of(
+            // findByUserId, findContactsByUserIdIn
+            new Index().on("userId", Sort.Direction.ASC).unique().named("userId"),
+            // findByEmail, existsByEmail
+            new Index().on("email", Sort.Direction.ASC).unique().named("email")
+        ));
+
+        return indexes;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    public void ensureIndexes() {
+        List<String> missingRequired = new ArrayList<>();
+        getIndexDefinitions().forEach((entityClass, definitions) -> {
+            for (IndexDefinition definition : definitions) {
+                Object name = definition.getIndexOptions().get("name");
+                try {
+                    mongoTemplate.indexOps(entityClass).ensureIndex(definition);
+                } catch (Exception e) {
+                    // e.g. existing duplicates block a unique index; keep going so the other indexes still get built
+                    logger.error("Could not ensure index {} on {}: {}", name,
+                            mongoTemplate.getCollectionName(entityClass), e.getMessage());
+                    if (REQUIRED_INDEXES.contains(name)) {
+                        missingRequired.add(name + " (" + e.getMessage() + ")");
+                    }
+                }
+            }
+        });
+
+        if (!missingRequired.isEmpty()) {
+            throw new IllegalStateException("Required MongoDB indexes could not be built: " + missingRequired);
+        }
+        logger.info("MongoDB indexes ensured");
+    }
+}
@@ -0,0 +1,76 @@
+package com.marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3Config {
+
+    @Value("${aws.s3.region}")
+    private String region;
+
+    @Value("${aws.access.key}")
+    private String accessKey;
+
+    @Value("${aws.secret.key}")
+    private String secretKey;
+
+    @Value("${aws.s3.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.s3.http.connection-timeout:5s}")
+    private Duration connectionTimeout;
+
+    @Value("${aws.s3.http.connection-acquisition-timeout:10s}")
+    private Duration connectionAcquisitionTimeout;
+
+    @Value("${aws.s3.http.socket-timeout:30s}")
+    private Duration socketTimeout;
+
+    @Value("${aws.s3.http.connection-max-idle-time:60s}")
+    private Duration connectionMaxIdleTime;
+
+    @Value("${aws.s3.http.tcp-keep-alive:true}")
+    private boolean tcpKeepAlive;
+
+    @Bean
+    public AwsCredentialsProvider s3CredentialsProvider() {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+
+    // Built once at startup; the client owns the Apache connection pool and releases it on close
+    @Bean(destroyMethod = "close")
+    public S3Client s3Client(AwsCredentialsProvider s3CredentialsProvider) {
+        return S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(s3CredentialsProvider)
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeout(connectionTimeout)
+                        .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                        .socketTimeout(socketTimeout)
+                        .connectionMaxIdleTime(connectionMaxIdleTime)
+                        .tcpKeepAlive(tcpKeepAlive))
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner(AwsCredentialsProvider s3CredentialsProvider) {
+        return S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(s3CredentialsProvider)
+                .build();
+    }
+}
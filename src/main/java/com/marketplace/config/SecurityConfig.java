@@ -6,6 +6,7 @@ import com.marketplace.security.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -16,6 +17,10 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @Configuration
 @EnableWebSecurity
@@ -25,6 +30,8 @@ public class SecurityConfig {
     private  JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     @Autowired
     private  JwtAuthenticationFilter jwtAuthenticationFilter;
+    @Autowired
+    private Environment environment;
 
    
 
@@ -47,6 +54,13 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/products/**").permitAll()
                         .requestMatchers("/api/categories").permitAll()
+                        .requestMatchers("/api/files/**").permitAll()
+                        // Actuator runs on its own port (management.server.port), which is not exposed publicly.
+                        // Health and the liveness/readiness probes are open; prometheus is only open on that port.
+                        .requestMatchers(new AntPathRequestMatcher("/actuator/health/**"),
+                                new AntPathRequestMatcher("/livez"), new AntPathRequestMatcher("/readyz")).permitAll()
+                        .requestMatchers(new AndRequestMatcher(this::isManagementPort,
+                                new AntPathRequestMatcher("/actuator/prometheus"))).permitAll()
                         .anyRequest().authenticated()
                 );
 
@@ -54,4 +68,10 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    private boolean isManagementPort(HttpServletRequest request) {
+        // Published once the management server has started; absent when actuator shares the API port
+        Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+        return managementPort != null && request.getLocalPort() == managementPort;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.marketplace.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class UploadExecutorConfig {
+
+    // Bounds how many S3 uploads run at once across all product-creation requests
+    @Bean(name = "uploadExecutor", destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService uploadExecutor(@Value("${app.upload.max-concurrency:16}") int maxConcurrency) {
+        return Executors.newFixedThreadPool(maxConcurrency, new CustomizableThreadFactory("s3-upload-"));
+    }
+
+    // spring.threads.virtual.enabled: one virtual thread per upload, with the same concurrency bound
+    // (callers wait for a free slot instead of queueing in a pool)
+    @Bean(name = "uploadExecutor", destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualUploadExecutor(@Value("${app.upload.max-concurrency:16}") int maxConcurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("s3-upload-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrency);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+}
@@ -0,0 +1,39 @@
+package com.marketplace.controller;
+
+import com.marketplace.dto.ApiResponse;
+import com.marketplace.service.StorageService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Serves files written by LocalStorageService; with S3 storage clients fetch presigned URLs instead
+@RestController
+@RequestMapping("/api/files")
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalFileController {
+
+    private final StorageService storageService;
+
+    public LocalFileController(StorageService storageService) {
+        this.storageService = storageService;
+    }
+
+    @GetMapping("/{*key}")
+    public ResponseEntity<?> getFile(@PathVariable String key) {
+        String fileKey = key.startsWith("/") ? key.substring(1) : key;
+        try {
+            MediaType mediaType = MediaTypeFactory.getMediaType(fileKey).orElse(MediaType.APPLICATION_OCTET_STREAM);
+            return ResponseEntity.ok()
+                    .contentType(mediaType)
+                    .body(new InputStreamResource(storageService.openFile(fileKey)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -2,13 +2,23 @@ package com.marketplace.controller;
 
 import com.marketplace.dto.ProductCreateRequest;
 import com.marketplace.dto.ApiResponse;
+import com.marketplace.dto.ProductDisplayDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.marketplace.service.CatalogVersionService;
 import com.marketplace.service.ProductService;
 import com.marketplace.security.UserPrincipal;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.List;
 import java.util.Arrays;
@@ -20,10 +30,19 @@ import com.marketplace.enums.ProductCategory;
 @RequestMapping("/api")
 public class ProductController {
 
+    // Categories come from the enum, so the response and its ETag are built once
+    private static final Map<String, Object> CATEGORIES_RESPONSE = buildCategoriesResponse();
+    private static final String CATEGORIES_ETAG = "\"" + Integer.toHexString(CATEGORIES_RESPONSE.hashCode()) + "\"";
+
     private final ProductService productService;
+    private final CatalogVersionService catalogVersionService;
+    private final ObjectWriter productWriter;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogVersionService catalogVersionService,
+                             ObjectMapper objectMapper) {
         this.productService = productService;
+        this.catalogVersionService = catalogVersionService;
+        this.productWriter = objectMapper.writerFor(ProductDisplayDto.class);
     }
 
     @PostMapping("/products")
@@ -46,9 +65,41 @@ public class ProductController {
     @GetMapping("/products")
     public ResponseEntity<?> getProducts(@RequestParam(required = false) String category,
                                                   @RequestParam(required = false) String search,
-                                                  @RequestParam(required = false) String location) {
-        Map<String, Object> response = productService.getProducts(category, search, location);
-        return ResponseEntity.ok(response);
+                                                  @RequestParam(required = false) String location,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  WebRequest webRequest) {
+        // Answered from the in-memory catalog version, before any Mongo or storage work
+        String etag = catalogVersionService.getETag();
+        long lastModified = catalogVersionService.getLastModified();
+        if (etag != null && webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        Map<String, Object> response = productService.getProducts(category, search, location, cursor, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache());
+        if (etag != null) {
+            builder.eTag(etag).lastModified(lastModified);
+        }
+        return builder.body(response);
+    }
+
+    // Streaming alternative to GET /products for clients that want the whole catalog: one JSON listing per line,
+    // written as it is read from Mongo
+    @GetMapping(value = "/products/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts(@RequestParam(required = false) String category,
+                                                                @RequestParam(required = false) String location) {
+        StreamingResponseBody body = outputStream -> productService.streamProducts(category, location, product -> {
+            try {
+                outputStream.write(productWriter.writeValueAsBytes(product));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                // Client went away; stop reading from Mongo
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/products/{productId}")
@@ -68,7 +119,17 @@ public class ProductController {
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<?> getCategories() {
+    public ResponseEntity<?> getCategories(WebRequest webRequest) {
+        if (webRequest.checkNotModified(CATEGORIES_ETAG)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(CATEGORIES_ETAG)
+                .body(CATEGORIES_RESPONSE);
+    }
+
+    private static Map<String, Object> buildCategoriesResponse() {
         List<Map<String, String>> categories = Arrays.stream(ProductCategory.values())
                 .map(category -> {
                     Map<String, String> categoryMap = new HashMap<>();
@@ -78,9 +139,6 @@ public class ProductController {
                 })
                 .collect(Collectors.toList());
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("categories", categories);
-        
-        return ResponseEntity.ok(response);
+        return Map.of("categories", categories);
     }
 }
\ No newline at end of file
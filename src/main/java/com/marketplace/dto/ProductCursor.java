@@ -0,0 +1,49 @@
+package com.marketplace.dto;
+
+import com.marketplace.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque continuation token for the product feed, positioned on the last (createdAt, productId) returned.
+// Both keys are required; rows missing either are not part of the keyset feed.
+public class ProductCursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final String productId;
+
+    public ProductCursor(LocalDateTime createdAt, String productId) {
+        if (createdAt == null || productId == null) {
+            throw new IllegalArgumentException("Cursor needs both createdAt and productId");
+        }
+        this.createdAt = createdAt;
+        this.productId = productId;
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new ProductCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                raw.substring(separator + 1)
+            );
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + productId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public String getProductId() { return productId; }
+}
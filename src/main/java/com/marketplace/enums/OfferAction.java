@@ -0,0 +1,9 @@
+package com.marketplace.enums;
+
+public enum OfferAction {
+    ACCEPTED,
+    REJECTED,
+    COUNTERED,
+    COUNTER_ACCEPTED,
+    COUNTER_REJECTED
+}
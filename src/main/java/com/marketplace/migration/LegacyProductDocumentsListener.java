@@ -0,0 +1,47 @@
+package com.marketplace.migration;
+
+import com.marketplace.model.DocumentInfo;
+import com.marketplace.model.Product;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Until ProductDocumentsMigration has reached a row, its documents field may still be a JSON string. Every read of
+// a full Product (detail page, offer creation, offer listings) maps it into a typed array, so the string is parsed
+// in the raw document before mapping instead of failing the read. The stored row is left for the migration.
+@Component
+public class LegacyProductDocumentsListener extends AbstractMongoEventListener<Product> {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyProductDocumentsListener.class);
+
+    private final MongoConverter mongoConverter;
+
+    public LegacyProductDocumentsListener(MongoConverter mongoConverter) {
+        this.mongoConverter = mongoConverter;
+    }
+
+    @Override
+    public void onAfterLoad(AfterLoadEvent<Product> event) {
+        Document row = event.getDocument();
+        if (row == null || !(row.get("documents") instanceof String raw)) {
+            return;
+        }
+
+        List<DocumentInfo> documents;
+        try {
+            documents = ProductDocumentsMigration.parse(raw);
+        } catch (Exception e) {
+            // The migration moves it to legacyDocuments; until then the product reads without documents
+            logger.warn("Could not parse legacy documents of product {}: {}", row.get("_id"), e.getMessage());
+            documents = new ArrayList<>();
+        }
+        row.put("documents", mongoConverter.convertToMongoType(documents));
+    }
+}
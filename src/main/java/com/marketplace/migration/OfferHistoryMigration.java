@@ -0,0 +1,77 @@
+package com.marketplace.migration;
+
+import com.marketplace.model.Offer;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+// Rewrites offer history written before OfferHistoryEntry existed ({action: "counter_accepted", timestamp, by,
+// amount, message}) into the compact layout ({a: "COUNTER_ACCEPTED", t, b, amt, m}).
+// Only offers that still have old entries are read, so it is safe to run on every startup. Each offer is written
+// back only if its history is unchanged since it was read; one that raced a transition is retried next startup.
+@Component
+@ConditionalOnProperty(name = "app.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class OfferHistoryMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferHistoryMigration.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public OfferHistoryMigration(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            MongoCollection<Document> offers = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Offer.class));
+            long migrated = 0;
+            for (Document offer : offers.find(legacyFilter()).projection(new Document("history", 1))) {
+                List<Document> history = offer.getList("history", Document.class);
+                List<Document> compact = history.stream().map(OfferHistoryMigration::compact).toList();
+                UpdateResult result = offers.updateOne(
+                        new Document("_id", offer.get("_id")).append("history", history),
+                        new Document("$set", new Document("history", compact)));
+                migrated += result.getModifiedCount();
+            }
+            if (migrated > 0) {
+                logger.info("Migrated history of {} offers to the compact layout", migrated);
+            }
+        } catch (Exception e) {
+            // Old entries still load (unknown keys are ignored), so a failed run must not stop the application
+            logger.error("Offer history migration failed: {}", e.getMessage());
+        }
+    }
+
+    static Document legacyFilter() {
+        return new Document("history.action", new Document("$exists", true));
+    }
+
+    // Entries that are already compact (no string "action") are passed through unchanged.
+    // Missing amount/message are left out of the new entry.
+    static Document compact(Document entry) {
+        if (!(entry.get("action") instanceof String action)) {
+            return entry;
+        }
+        Document compact = new Document("a", action.toUpperCase(Locale.ROOT))
+                .append("t", entry.get("timestamp"))
+                .append("b", entry.get("by"));
+        if (entry.containsKey("amount")) {
+            compact.append("amt", entry.get("amount"));
+        }
+        if (entry.containsKey("message")) {
+            compact.append("m", entry.get("message"));
+        }
+        return compact;
+    }
+}
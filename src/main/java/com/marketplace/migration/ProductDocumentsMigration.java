@@ -0,0 +1,149 @@
+package com.marketplace.migration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.model.DocumentInfo;
+import com.marketplace.model.Product;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Rewrites products whose documents field is still a JSON string (rows written by older versions) into the
+// typed array that Product maps. Runs in the background one batch per scheduled run, so startup is not delayed.
+// Resumable: only rows that still hold a string are selected, so a restart simply continues with what is left.
+// Strings that cannot be parsed are moved to legacyDocuments for manual review and documents is set to [].
+@Component
+@ConditionalOnProperty(name = "app.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class ProductDocumentsMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductDocumentsMigration.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<DocumentInfo>> DOCUMENT_LIST = new TypeReference<List<DocumentInfo>>() {};
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.migrations.product-documents.batch-size:500}")
+    private int batchSize;
+
+    private final AtomicLong migrated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong remaining = new AtomicLong(-1);
+
+    // Only touched from the scheduler thread
+    private Object lastId;
+    private volatile boolean completed;
+
+    public ProductDocumentsMigration(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+
+        FunctionCounter.builder("migration.product.documents", migrated, AtomicLong::get)
+                .description("Legacy product documents rewritten")
+                .tag("result", "migrated")
+                .register(meterRegistry);
+        FunctionCounter.builder("migration.product.documents", failed, AtomicLong::get)
+                .description("Legacy product documents rewritten")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        // -1 until the first run has counted the legacy rows
+        Gauge.builder("migration.product.documents.remaining", remaining, AtomicLong::get)
+                .description("Legacy product documents still to rewrite")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.migrations.product-documents.interval-ms:1000}",
+               fixedDelayString = "${app.migrations.product-documents.interval-ms:1000}")
+    public void migrateBatch() {
+        if (completed) {
+            return;
+        }
+
+        try {
+            MongoCollection<Document> products = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class));
+            if (remaining.get() < 0) {
+                remaining.set(products.countDocuments(legacyFilter(null)));
+                logger.info("Product documents migration: {} legacy rows to rewrite", remaining.get());
+            }
+
+            List<Document> batch = products.find(legacyFilter(lastId))
+                    .projection(new Document("documents", 1))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+
+            if (batch.isEmpty()) {
+                completed = true;
+                remaining.set(0);
+                logger.info("Product documents migration finished: {} migrated, {} moved to legacyDocuments",
+                        migrated.get(), failed.get());
+                return;
+            }
+
+            for (Document row : batch) {
+                migrateRow(products, row);
+                lastId = row.get("_id");
+            }
+
+            logger.info("Product documents migration: {} migrated, {} failed, {} remaining",
+                    migrated.get(), failed.get(), remaining.get());
+        } catch (Exception e) {
+            // Nothing is lost; the next run picks up the same rows again
+            logger.warn("Product documents migration batch failed: {}", e.getMessage());
+        }
+    }
+
+    private void migrateRow(MongoCollection<Document> products, Document row) {
+        String raw = row.getString("documents");
+        // Still-a-string guard, in case the row was rewritten since the batch was read
+        Bson stillLegacy = Filters.and(Filters.eq("_id", row.get("_id")), Filters.type("documents", BsonType.STRING));
+
+        Bson update;
+        try {
+            List<DocumentInfo> documents = parse(raw);
+            update = Updates.set("documents", mongoTemplate.getConverter().convertToMongoType(documents));
+            migrated.incrementAndGet();
+        } catch (Exception e) {
+            logger.warn("Could not parse documents of product {}: {}", row.get("_id"), e.getMessage());
+            update = Updates.combine(Updates.set("legacyDocuments", raw), Updates.set("documents", new ArrayList<>()));
+            failed.incrementAndGet();
+        }
+
+        products.updateOne(stillLegacy, update);
+        remaining.updateAndGet(value -> Math.max(0, value - 1));
+    }
+
+    static List<DocumentInfo> parse(String raw) throws Exception {
+        if (raw == null || raw.isBlank()) {
+            return new ArrayList<>();
+        }
+        List<DocumentInfo> documents = OBJECT_MAPPER.readValue(raw, DOCUMENT_LIST);
+        return documents != null ? documents : new ArrayList<>();
+    }
+
+    private static Bson legacyFilter(Object afterId) {
+        Bson isString = Filters.type("documents", BsonType.STRING);
+        return afterId == null ? isString : Filters.and(isString, Filters.gt("_id", afterId));
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Document(collection = "offers")
 public class Offer {
@@ -31,7 +30,7 @@ public class Offer {
     @CreatedDate
     private LocalDateTime createdAt;
     
-    private List<Map<String, Object>> history;
+    private List<OfferHistoryEntry> history;
 
     // Constructors
     public Offer() {}
@@ -95,6 +94,6 @@ public class Offer {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
-    public List<Map<String, Object>> getHistory() { return history; }
-    public void setHistory(List<Map<String, Object>> history) { this.history = history; }
+    public List<OfferHistoryEntry> getHistory() { return history; }
+    public void setHistory(List<OfferHistoryEntry> history) { this.history = history; }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.marketplace.model;
+
+import com.marketplace.enums.OfferAction;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDateTime;
+
+// One entry per offer transition. Field names are kept short because every offer document repeats them.
+public class OfferHistoryEntry {
+    @Field("a")
+    private OfferAction action;
+
+    @Field("t")
+    private LocalDateTime timestamp;
+
+    @Field("b")
+    private String by;
+
+    @Field("amt")
+    private Double amount;
+
+    @Field("m")
+    private String message;
+
+    public OfferHistoryEntry() {}
+
+    public OfferHistoryEntry(OfferAction action, String by, Double amount, String message) {
+        this.action = action;
+        this.timestamp = LocalDateTime.now();
+        this.by = by;
+        this.amount = amount;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public OfferAction getAction() { return action; }
+    public void setAction(OfferAction action) { this.action = action; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public String getBy() { return by; }
+    public void setBy(String by) { this.by = by; }
+
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -4,9 +4,6 @@ import com.marketplace.enums.ProductCategory;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.mapping.Field;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,8 +29,7 @@ public class Product {
     private String website;
     private String imageS3Key;
     
-    @Field("documents")
-    private Object documents; // Use Object to handle both String and List<DocumentInfo>
+    private List<DocumentInfo> documents;
     
     @CreatedDate
     private LocalDateTime createdAt;
@@ -110,37 +106,10 @@ public class Product {
     public String getImageS3Key() { return imageS3Key; }
     public void setImageS3Key(String imageS3Key) { this.imageS3Key = imageS3Key; }
 
-    @SuppressWarnings("unchecked")
-    public List<DocumentInfo> getDocuments() { 
-        if (documents == null) {
-            return new ArrayList<>();
-        }
-        
-        if (documents instanceof List) {
-            return (List<DocumentInfo>) documents;
-        }
-        
-        // If it's a String, try to parse it
-        if (documents instanceof String) {
-            try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                return objectMapper.readValue((String) documents, new TypeReference<List<DocumentInfo>>() {});
-            } catch (Exception e) {
-                // Failed to parse documents string
-                return new ArrayList<>();
-            }
-        }
-        
-        return new ArrayList<>();
-    }
-    
-    public void setDocuments(List<DocumentInfo> documents) { 
-        this.documents = documents; 
-    }
-    
-    public void setDocuments(Object documents) { 
-        this.documents = documents; 
+    public List<DocumentInfo> getDocuments() {
+        return documents != null ? documents : new ArrayList<>();
     }
+    public void setDocuments(List<DocumentInfo> documents) { this.documents = documents; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
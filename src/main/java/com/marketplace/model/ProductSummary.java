@@ -0,0 +1,80 @@
+package com.marketplace.model;
+
+import com.marketplace.enums.ProductCategory;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+
+// Read-only projection of a product document with just the fields shown on product cards.
+// Used for every list view so the documents array (and seller email) never leave the database.
+public class ProductSummary {
+    @Id
+    private String id;
+
+    private String productId;
+    private String sellerId;
+    private String sellerName;
+    private String name;
+    private String description;
+    private ProductCategory category;
+    private Double revenue;
+    private Double askValue;
+    private Double profit;
+    private String location;
+    private String image;
+    private String website;
+    private String imageS3Key;
+    private LocalDateTime createdAt;
+    private boolean isActive = true;
+
+    public ProductSummary() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getProductId() { return productId; }
+    public void setProductId(String productId) { this.productId = productId; }
+
+    public String getSellerId() { return sellerId; }
+    public void setSellerId(String sellerId) { this.sellerId = sellerId; }
+
+    public String getSellerName() { return sellerName; }
+    public void setSellerName(String sellerName) { this.sellerName = sellerName; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public ProductCategory getCategory() { return category; }
+    public void setCategory(ProductCategory category) { this.category = category; }
+
+    public Double getRevenue() { return revenue; }
+    public void setRevenue(Double revenue) { this.revenue = revenue; }
+
+    public Double getAskValue() { return askValue; }
+    public void setAskValue(Double askValue) { this.askValue = askValue; }
+
+    public Double getProfit() { return profit; }
+    public void setProfit(Double profit) { this.profit = profit; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public String getImage() { return image; }
+    public void setImage(String image) { this.image = image; }
+
+    public String getWebsite() { return website; }
+    public void setWebsite(String website) { this.website = website; }
+
+    public String getImageS3Key() { return imageS3Key; }
+    public void setImageS3Key(String imageS3Key) { this.imageS3Key = imageS3Key; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public boolean isActive() { return isActive; }
+    public void setActive(boolean active) { isActive = active; }
+}
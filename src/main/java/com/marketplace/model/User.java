@@ -5,7 +5,6 @@ import com.marketplace.enums.UserRole;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.mongodb.core.mapping.Document;
-import org.springframework.data.mongodb.core.index.Indexed;
 
 import java.time.LocalDateTime;
 
@@ -18,7 +17,6 @@ public class User {
     
     private String name;
     
-    @Indexed(unique = true)
     private String email;
     
     private String password;
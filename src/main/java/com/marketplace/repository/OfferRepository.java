@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OfferRepository extends MongoRepository<Offer, String> {
+public interface OfferRepository extends MongoRepository<Offer, String>, OfferRepositoryCustom {
     Optional<Offer> findByOfferId(String offerId);
     List<Offer> findBySellerIdOrderByCreatedAtDesc(String sellerId);
     List<Offer> findByBuyerIdOrderByCreatedAtDesc(String buyerId);
@@ -0,0 +1,14 @@
+package com.marketplace.repository;
+
+import com.marketplace.enums.OfferStatus;
+import com.marketplace.model.Offer;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+public interface OfferRepositoryCustom {
+    // Applies the update only if the offer is still in expectedStatus and actorField (sellerId/buyerId) is actorId.
+    // Returns the updated offer, or empty when nothing matched.
+    Optional<Offer> updateIfStatus(String offerId, String actorField, String actorId,
+                                   OfferStatus expectedStatus, Update update);
+}
@@ -0,0 +1,32 @@
+package com.marketplace.repository;
+
+import com.marketplace.enums.OfferStatus;
+import com.marketplace.model.Offer;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+public class OfferRepositoryCustomImpl implements OfferRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public OfferRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Offer> updateIfStatus(String offerId, String actorField, String actorId,
+                                          OfferStatus expectedStatus, Update update) {
+        // The status check and the write happen in one atomic findAndModify, so concurrent transitions
+        // on the same offer cannot both succeed
+        Query query = new Query(Criteria.where("offerId").is(offerId)
+                .and(actorField).is(actorId)
+                .and("status").is(expectedStatus));
+        Offer updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Offer.class);
+        return Optional.ofNullable(updated);
+    }
+}
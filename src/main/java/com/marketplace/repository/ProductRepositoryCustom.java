@@ -0,0 +1,19 @@
+package com.marketplace.repository;
+
+import com.marketplace.dto.ProductCursor;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.ProductSummary;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+    // Filters and cursor are optional; null or blank values are ignored
+    List<ProductSummary> findActiveSummaries(ProductCategory category, String location, ProductCursor after, int limit);
+
+    // Every matching active product in feed order, read lazily through a Mongo cursor; the caller must close it
+    Stream<ProductSummary> streamActiveSummaries(ProductCategory category, String location);
+
+    // Full-text search over name/description, best matches first
+    List<ProductSummary> searchActiveSummaries(ProductCategory category, String search, String location, int limit);
+}
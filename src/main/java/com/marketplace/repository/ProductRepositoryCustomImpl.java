@@ -0,0 +1,112 @@
+package com.marketplace.repository;
+
+import com.marketplace.dto.ProductCursor;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.Product;
+import com.marketplace.model.ProductSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final int STREAM_BATCH_SIZE = 200;
+
+    private final MongoTemplate mongoTemplate;
+    private final String[] summaryFields;
+
+    public ProductRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+
+        List<String> fields = new ArrayList<>();
+        mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(ProductSummary.class)
+                .doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> fields.add(property.getFieldName()));
+        this.summaryFields = fields.toArray(new String[0]);
+    }
+
+    @Override
+    public List<ProductSummary> findActiveSummaries(ProductCategory category, String location,
+                                                    ProductCursor after, int limit) {
+        // as(ProductSummary) limits the returned fields to the ones the summary maps
+        return mongoTemplate.query(Product.class)
+                .as(ProductSummary.class)
+                .matching(buildFeedQuery(category, location, after, limit))
+                .all();
+    }
+
+    @Override
+    public Stream<ProductSummary> streamActiveSummaries(ProductCategory category, String location) {
+        // limit 0 = no limit; the batch size bounds how many documents are held per round trip
+        Query query = buildFeedQuery(category, location, null, 0).cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.query(Product.class)
+                .as(ProductSummary.class)
+                .matching(query)
+                .stream();
+    }
+
+    @Override
+    public List<ProductSummary> searchActiveSummaries(ProductCategory category, String search, String location,
+                                                      int limit) {
+        return mongoTemplate.query(Product.class)
+                .as(ProductSummary.class)
+                .matching(buildSearchQuery(category, search, location, limit))
+                .all();
+    }
+
+    private Query buildFeedQuery(ProductCategory category, String location, ProductCursor after, int limit) {
+        // isActive (+ category) leads so the query can use the { isActive, category, createdAt, productId } indexes
+        // Rows missing either sort key have no cursor position, so they are left out of the feed
+        Criteria criteria = buildFilterCriteria(category, location)
+                .and("createdAt").ne(null)
+                .and("productId").ne(null);
+
+        // Keyset: everything strictly after the cursor in (createdAt desc, productId desc) order
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.getCreatedAt()),
+                    Criteria.where("createdAt").is(after.getCreatedAt()).and("productId").lt(after.getProductId())
+            );
+        }
+
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "productId"))
+                .limit(limit);
+    }
+
+    private Query buildSearchQuery(ProductCategory category, String search, String location, int limit) {
+        // $text goes through the name/description text index; ties on score fall back to newest first
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(search)).sortByScore();
+        // The score projection would otherwise make this an all-fields query, so list the summary fields explicitly
+        query.fields().include(summaryFields);
+        query.addCriteria(buildFilterCriteria(category, location));
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        query.limit(limit);
+        return query;
+    }
+
+    private Criteria buildFilterCriteria(ProductCategory category, String location) {
+        Criteria criteria = Criteria.where("isActive").is(true);
+
+        if (category != null) {
+            criteria = criteria.and("category").is(category);
+        }
+
+        if (StringUtils.hasText(location)) {
+            criteria = criteria.and("location").regex(Pattern.quote(location), "i");
+        }
+
+        return criteria;
+    }
+}
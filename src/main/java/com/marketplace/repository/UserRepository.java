@@ -2,8 +2,11 @@ package com.marketplace.repository;
 
 import com.marketplace.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,8 @@ public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUserId(String userId);
     boolean existsByEmail(String email);
+
+    // Batch lookup projected down to the contact fields shown on offers
+    @Query(value = "{ 'userId': { $in: ?0 } }", fields = "{ 'userId': 1, 'name': 1, 'email': 1, 'phone': 1 }")
+    List<User> findContactsByUserIdIn(Collection<String> userIds);
 }
\ No newline at end of file
@@ -1,51 +1,73 @@
 package com.marketplace.security;
 
-import com.marketplace.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String AUTHENTICATION_TIMER = "security.jwt.authentication";
+
     private final JwtTokenProvider tokenProvider;
-    private final UserService userService;
+    private final MeterRegistry meterRegistry;
+    // Registered once up front; this runs on every request
+    private final Timer anonymousTimer;
+    private final Timer authenticatedTimer;
+    private final Timer invalidTimer;
+    private final Timer errorTimer;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, @Lazy UserService userService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
-        this.userService = userService;
+        this.meterRegistry = meterRegistry;
+        this.anonymousTimer = authenticationTimer(meterRegistry, "ANONYMOUS");
+        this.authenticatedTimer = authenticationTimer(meterRegistry, "AUTHENTICATED");
+        this.invalidTimer = authenticationTimer(meterRegistry, "INVALID");
+        this.errorTimer = authenticationTimer(meterRegistry, "ERROR");
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        // Times token parsing and principal setup only, not the rest of the chain
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timer outcome = errorTimer;
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String userId = tokenProvider.getUserIdFromToken(jwt);
-                UserDetails userDetails = userService.loadUserByUserId(userId);
+            Optional<Claims> claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : Optional.empty();
+
+            if (claims.isPresent()) {
+                // The principal comes straight from the signed claims, so authentication needs no database lookup
+                UserPrincipal principal = UserPrincipal.fromClaims(
+                        claims.get().getSubject(), claims.get().get("email", String.class));
 
                 UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                outcome = authenticatedTimer;
+            } else {
+                outcome = StringUtils.hasText(jwt) ? invalidTimer : anonymousTimer;
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            sample.stop(outcome);
         }
 
         filterChain.doFilter(request, response);
@@ -58,4 +80,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private static Timer authenticationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(AUTHENTICATION_TIMER)
+                .description("Time to authenticate a request from its bearer token")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
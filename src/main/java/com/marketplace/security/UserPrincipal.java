@@ -23,16 +23,26 @@ public class UserPrincipal implements UserDetails {
         this.authorities = authorities;
     }
 
-    public static UserPrincipal create(User user) {
-        Collection<GrantedAuthority> authorities = Collections.singletonList(
-            new SimpleGrantedAuthority("ROLE_USER")
-        );
+    private static final Collection<GrantedAuthority> USER_AUTHORITIES = Collections.singletonList(
+        new SimpleGrantedAuthority("ROLE_USER")
+    );
 
+    public static UserPrincipal create(User user) {
         return new UserPrincipal(
             user.getUserId(),
             user.getEmail(),
             user.getPassword(),
-            authorities
+            USER_AUTHORITIES
+        );
+    }
+
+    // Built from verified token claims; carries no password since the token is the credential
+    public static UserPrincipal fromClaims(String userId, String email) {
+        return new UserPrincipal(
+            userId,
+            email,
+            null,
+            USER_AUTHORITIES
         );
     }
 
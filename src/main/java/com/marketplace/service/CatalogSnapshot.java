@@ -0,0 +1,273 @@
+package com.marketplace.service;
+
+import com.marketplace.dto.ProductCursor;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.ProductSummary;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable view of the active catalog in feed order, with positional indexes by category and location.
+// Never modified after construction, so any number of readers can use it without locking.
+public final class CatalogSnapshot {
+
+    // Feed order: newest first, productId descending as tie-breaker (same as the Mongo feed query).
+    // Only applied to rows that have both keys; see hasFeedKeys.
+    static final Comparator<ProductSummary> FEED_ORDER = Comparator
+            .comparing(ProductSummary::getCreatedAt)
+            .thenComparing(ProductSummary::getProductId)
+            .reversed();
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final List<ProductSummary> products;
+    private final Map<ProductCategory, int[]> positionsByCategory;
+    private final Map<String, int[]> positionsByLocation;
+    private final Set<String> productIds;
+    private final LocalDateTime latestCreatedAt;
+
+    private CatalogSnapshot(List<ProductSummary> sortedProducts) {
+        this.products = Collections.unmodifiableList(sortedProducts);
+        this.productIds = new HashSet<>();
+
+        Map<ProductCategory, List<Integer>> byCategory = new EnumMap<>(ProductCategory.class);
+        Map<String, List<Integer>> byLocation = new HashMap<>();
+        for (int i = 0; i < sortedProducts.size(); i++) {
+            ProductSummary product = sortedProducts.get(i);
+            productIds.add(product.getProductId());
+            if (product.getCategory() != null) {
+                byCategory.computeIfAbsent(product.getCategory(), c -> new ArrayList<>()).add(i);
+            }
+            byLocation.computeIfAbsent(normalizeLocation(product.getLocation()), l -> new ArrayList<>()).add(i);
+        }
+
+        this.positionsByCategory = new EnumMap<>(ProductCategory.class);
+        byCategory.forEach((category, positions) -> positionsByCategory.put(category, toArray(positions)));
+        this.positionsByLocation = new HashMap<>();
+        byLocation.forEach((location, positions) -> positionsByLocation.put(location, toArray(positions)));
+
+        this.latestCreatedAt = sortedProducts.stream()
+                .map(ProductSummary::getCreatedAt)
+                .filter(createdAt -> createdAt != null)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private CatalogSnapshot(List<ProductSummary> sortedProducts, Map<ProductCategory, int[]> positionsByCategory,
+                            Map<String, int[]> positionsByLocation, Set<String> productIds,
+                            LocalDateTime latestCreatedAt) {
+        this.products = Collections.unmodifiableList(sortedProducts);
+        this.positionsByCategory = positionsByCategory;
+        this.positionsByLocation = positionsByLocation;
+        this.productIds = productIds;
+        this.latestCreatedAt = latestCreatedAt;
+    }
+
+    public static CatalogSnapshot of(List<ProductSummary> products) {
+        List<ProductSummary> sorted = new ArrayList<>(products.size());
+        for (ProductSummary product : products) {
+            if (hasFeedKeys(product)) {
+                sorted.add(product);
+            }
+        }
+        sorted.sort(FEED_ORDER);
+        return new CatalogSnapshot(sorted);
+    }
+
+    // New snapshot with the given products merged in; ones already present (same productId) are skipped, since
+    // changes to existing listings are picked up by the periodic full rebuild. Returns this when nothing is new.
+    public CatalogSnapshot withProducts(List<ProductSummary> newProducts) {
+        Set<String> addedIds = new HashSet<>();
+        List<ProductSummary> added = new ArrayList<>();
+        for (ProductSummary product : newProducts) {
+            if (hasFeedKeys(product) && !productIds.contains(product.getProductId())
+                    && addedIds.add(product.getProductId())) {
+                added.add(product);
+            }
+        }
+        if (added.isEmpty()) {
+            return this;
+        }
+        added.sort(FEED_ORDER);
+
+        // Merge the two feed-ordered lists. insertAt[j] = how many existing products precede added[j], so an
+        // existing product at position p moves to p + (number of j with insertAt[j] <= p).
+        List<ProductSummary> merged = new ArrayList<>(products.size() + added.size());
+        int[] insertAt = new int[added.size()];
+        int[] addedPositions = new int[added.size()];
+        int existing = 0;
+        for (int j = 0; j < added.size(); j++) {
+            while (existing < products.size() && FEED_ORDER.compare(products.get(existing), added.get(j)) <= 0) {
+                merged.add(products.get(existing++));
+            }
+            insertAt[j] = existing;
+            addedPositions[j] = merged.size();
+            merged.add(added.get(j));
+        }
+        while (existing < products.size()) {
+            merged.add(products.get(existing++));
+        }
+
+        Map<ProductCategory, List<Integer>> addedByCategory = new EnumMap<>(ProductCategory.class);
+        Map<String, List<Integer>> addedByLocation = new HashMap<>();
+        for (int j = 0; j < added.size(); j++) {
+            ProductSummary product = added.get(j);
+            if (product.getCategory() != null) {
+                addedByCategory.computeIfAbsent(product.getCategory(), c -> new ArrayList<>()).add(j);
+            }
+            addedByLocation.computeIfAbsent(normalizeLocation(product.getLocation()), l -> new ArrayList<>()).add(j);
+        }
+
+        Map<ProductCategory, int[]> mergedByCategory = new EnumMap<>(ProductCategory.class);
+        for (ProductCategory category : ProductCategory.values()) {
+            int[] positions = mergePositions(positionsByCategory.getOrDefault(category, NO_POSITIONS),
+                    addedByCategory.getOrDefault(category, List.of()), insertAt, addedPositions);
+            if (positions.length > 0) {
+                mergedByCategory.put(category, positions);
+            }
+        }
+        Map<String, int[]> mergedByLocation = new HashMap<>();
+        positionsByLocation.forEach((location, positions) -> mergedByLocation.put(location, mergePositions(positions,
+                addedByLocation.getOrDefault(location, List.of()), insertAt, addedPositions)));
+        addedByLocation.forEach((location, indexes) -> mergedByLocation.computeIfAbsent(location,
+                l -> mergePositions(NO_POSITIONS, indexes, insertAt, addedPositions)));
+
+        Set<String> mergedIds = new HashSet<>(productIds);
+        mergedIds.addAll(addedIds);
+
+        LocalDateTime addedLatest = added.get(0).getCreatedAt();
+        LocalDateTime mergedLatest = latestCreatedAt == null
+                || (addedLatest != null && addedLatest.isAfter(latestCreatedAt)) ? addedLatest : latestCreatedAt;
+
+        return new CatalogSnapshot(merged, mergedByCategory, mergedByLocation, mergedIds, mergedLatest);
+    }
+
+    // Same contract as ProductRepository.findActiveSummaries: up to `limit` products after the cursor, in feed order
+    public List<ProductSummary> page(ProductCategory category, String location, ProductCursor after, int limit) {
+        int start = after == null ? 0 : firstPositionAfter(after);
+
+        BitSet locationMatches = (location != null && !location.trim().isEmpty())
+                ? matchLocation(location.toLowerCase(Locale.ROOT))
+                : null;
+
+        List<ProductSummary> page = new ArrayList<>(Math.min(limit, products.size()));
+
+        if (category != null) {
+            // Positions are ascending, so a deep cursor starts at its first position >= start instead of scanning to it
+            int[] positions = positionsByCategory.getOrDefault(category, NO_POSITIONS);
+            int found = Arrays.binarySearch(positions, start);
+            for (int i = found >= 0 ? found : -found - 1; i < positions.length && page.size() < limit; i++) {
+                if (locationMatches == null || locationMatches.get(positions[i])) {
+                    page.add(products.get(positions[i]));
+                }
+            }
+        } else if (locationMatches != null) {
+            for (int position = locationMatches.nextSetBit(start);
+                 position >= 0 && page.size() < limit;
+                 position = locationMatches.nextSetBit(position + 1)) {
+                page.add(products.get(position));
+            }
+        } else {
+            for (int position = start; position < products.size() && page.size() < limit; position++) {
+                page.add(products.get(position));
+            }
+        }
+
+        return page;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public LocalDateTime getLatestCreatedAt() {
+        return latestCreatedAt;
+    }
+
+    List<ProductSummary> getProducts() {
+        return products;
+    }
+
+    // Same rule as the Mongo feed query: a row without createdAt or productId has no cursor position
+    private static boolean hasFeedKeys(ProductSummary product) {
+        return product.getCreatedAt() != null && product.getProductId() != null;
+    }
+
+    // Location filtering is a case-insensitive substring match, so match against the distinct location keys
+    private BitSet matchLocation(String locationLower) {
+        BitSet matches = new BitSet(products.size());
+        positionsByLocation.forEach((key, positions) -> {
+            if (key.contains(locationLower)) {
+                for (int position : positions) {
+                    matches.set(position);
+                }
+            }
+        });
+        return matches;
+    }
+
+    // Binary search for the first position strictly after the cursor in feed order
+    private int firstPositionAfter(ProductCursor cursor) {
+        ProductSummary probe = new ProductSummary();
+        probe.setCreatedAt(cursor.getCreatedAt());
+        probe.setProductId(cursor.getProductId());
+
+        int low = 0;
+        int high = products.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (FEED_ORDER.compare(products.get(mid), probe) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Existing positions shifted past the inserted products, merged with the new positions of `addedIndexes`;
+    // both inputs and the result are ascending
+    private static int[] mergePositions(int[] existingPositions, List<Integer> addedIndexes, int[] insertAt,
+                                        int[] addedPositions) {
+        int[] merged = new int[existingPositions.length + addedIndexes.size()];
+        int shift = 0;
+        int next = 0;
+        int out = 0;
+        for (int position : existingPositions) {
+            while (shift < insertAt.length && insertAt[shift] <= position) {
+                shift++;
+            }
+            while (next < addedIndexes.size() && addedPositions[addedIndexes.get(next)] < position + shift) {
+                merged[out++] = addedPositions[addedIndexes.get(next++)];
+            }
+            merged[out++] = position + shift;
+        }
+        while (next < addedIndexes.size()) {
+            merged[out++] = addedPositions[addedIndexes.get(next++)];
+        }
+        return merged;
+    }
+
+    private static String normalizeLocation(String location) {
+        return location == null ? "" : location.toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        int[] array = new int[positions.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = positions.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,70 @@
+package com.marketplace.service;
+
+import com.marketplace.model.ProductSummary;
+import com.marketplace.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Optional in-memory copy of the active catalog (app.catalog.snapshot.enabled) so the feed can be served
+// without a Mongo round trip. Refreshed by polling on createdAt, with a periodic full rebuild to drop
+// listings that were deactivated.
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    private final ProductRepository productRepository;
+
+    @Value("${app.catalog.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.catalog.snapshot.full-rebuild-interval-ms:300000}")
+    private long fullRebuildIntervalMs;
+
+    // Swapped atomically; readers always see a complete snapshot
+    private volatile CatalogSnapshot snapshot;
+    private long lastFullRebuildAt;
+
+    public CatalogSnapshotService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    // Null when the snapshot mode is off or the first build has not finished yet
+    public CatalogSnapshot getSnapshot() {
+        return enabled ? snapshot : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.snapshot.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            CatalogSnapshot current = snapshot;
+            long now = System.currentTimeMillis();
+
+            if (current == null || current.getLatestCreatedAt() == null
+                    || now - lastFullRebuildAt >= fullRebuildIntervalMs) {
+                snapshot = CatalogSnapshot.of(productRepository.findSummariesByIsActiveTrueOrderByCreatedAtDesc());
+                lastFullRebuildAt = now;
+                logger.debug("Rebuilt catalog snapshot with {} products", snapshot.size());
+                return;
+            }
+
+            // >= so listings created in the same millisecond as the latest one are not missed; ones already in the
+            // snapshot are skipped, so an unchanged poll keeps the current snapshot
+            List<ProductSummary> newProducts = productRepository
+                    .findSummariesByIsActiveTrueAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(current.getLatestCreatedAt());
+            snapshot = current.withProducts(newProducts);
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; the next run tries again
+            logger.warn("Could not refresh catalog snapshot: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.marketplace.service;
+
+import com.marketplace.model.ProductSummary;
+import com.marketplace.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Cheap validator for the public catalog responses, so conditional GETs can be answered with 304 before any
+// Mongo or storage work. The version is (active product count, newest createdAt), which changes whenever a
+// listing is created or deactivated and is the same on every instance. It also includes the current storage URL
+// epoch: responses embed signed URLs, and a client must not keep reusing a body whose URLs have expired.
+@Service
+public class CatalogVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersionService.class);
+
+    private final ProductRepository productRepository;
+    private final StorageService storageService;
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private volatile CatalogState state;
+
+    public CatalogVersionService(ProductRepository productRepository, StorageService storageService,
+                                 CatalogSnapshotService catalogSnapshotService) {
+        this.productRepository = productRepository;
+        this.storageService = storageService;
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.version.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            long activeCount = productRepository.countByIsActiveTrue();
+            LocalDateTime latestCreatedAt = productRepository.findFirstSummaryByIsActiveTrueOrderByCreatedAtDesc()
+                    .map(ProductSummary::getCreatedAt)
+                    .orElse(null);
+            state = new CatalogState(activeCount, latestCreatedAt);
+        } catch (Exception e) {
+            // Keep the previous version; at worst clients get a full response instead of a 304
+            logger.warn("Could not refresh catalog version: {}", e.getMessage());
+        }
+    }
+
+    // Strong ETag for the feed, or null while the version is unknown (then no conditional handling is done)
+    public String getETag() {
+        CatalogState current = currentState();
+        if (current == null) {
+            return null;
+        }
+        long latest = current.latestCreatedAt != null ? toEpochMillis(current.latestCreatedAt) : 0;
+        return "\"" + current.activeCount + "-" + Long.toHexString(latest) + "-" + urlEpoch() + "\"";
+    }
+
+    // Last-Modified for the feed: newest listing or start of the current URL epoch, whichever is later
+    public long getLastModified() {
+        CatalogState current = currentState();
+        long latest = (current != null && current.latestCreatedAt != null) ? toEpochMillis(current.latestCreatedAt) : 0;
+        return Math.max(latest, urlEpoch() * urlEpochMillis());
+    }
+
+    // When the feed is served from the snapshot, version the snapshot itself so the ETag never runs ahead of it
+    private CatalogState currentState() {
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        if (snapshot != null) {
+            return new CatalogState(snapshot.size(), snapshot.getLatestCreatedAt());
+        }
+        return state;
+    }
+
+    // Every URL in a response stays valid for at least one URL lifetime, so a body is reusable within one epoch
+    private long urlEpoch() {
+        return System.currentTimeMillis() / urlEpochMillis();
+    }
+
+    private long urlEpochMillis() {
+        return Math.max(1, storageService.getUrlLifetime().toMillis());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class CatalogState {
+        private final long activeCount;
+        private final LocalDateTime latestCreatedAt;
+
+        private CatalogState(long activeCount, LocalDateTime latestCreatedAt) {
+            this.activeCount = activeCount;
+            this.latestCreatedAt = latestCreatedAt;
+        }
+    }
+}
@@ -3,13 +3,16 @@ package com.marketplace.service;
 import com.marketplace.dto.ApiResponse;
 import com.marketplace.model.Favorite;
 import com.marketplace.model.Product;
+import com.marketplace.model.ProductSummary;
 import com.marketplace.repository.FavoriteRepository;
 import com.marketplace.repository.ProductRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class FavoriteService {
@@ -49,15 +52,26 @@ public class FavoriteService {
 
     public Map<String, Object> getFavorites(String userId) {
         List<Favorite> favorites = favoriteRepository.findByUserId(userId);
-        List<Product> favoriteProducts = new ArrayList<>();
+        List<ProductSummary> favoriteProducts = new ArrayList<>();
+        if (favorites.isEmpty()) {
+            return Map.of("favorites", favoriteProducts);
+        }
+
+        // One $in query for all favorited products instead of one lookup per favorite
+        List<String> productIds = favorites.stream()
+            .map(Favorite::getProductId)
+            .collect(Collectors.toList());
+        Map<String, ProductSummary> productsById = new HashMap<>();
+        for (ProductSummary product : productRepository.findSummariesByProductIdInAndIsActiveTrue(productIds)) {
+            productsById.put(product.getProductId(), product);
+        }
 
+        // Keep the order in which the favorites were added
         for (Favorite favorite : favorites) {
-            productRepository.findByProductIdAndIsActiveTrue(favorite.getProductId())
-                .ifPresent(product -> {
-                    // Remove sensitive seller information
-                    product.setSellerEmail(null);
-                    favoriteProducts.add(product);
-                });
+            ProductSummary product = productsById.get(favorite.getProductId());
+            if (product != null) {
+                favoriteProducts.add(product);
+            }
         }
 
         return Map.of("favorites", favoriteProducts);
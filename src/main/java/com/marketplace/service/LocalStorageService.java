@@ -0,0 +1,116 @@
+package com.marketplace.service;
+
+import com.marketplace.exception.BadRequestException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+// Filesystem-backed storage for offline load tests, integration tests and edge nodes
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalStorageService implements StorageService {
+
+    @Value("${app.storage.local.root:./storage}")
+    private String rootDirectory;
+
+    @Value("${app.storage.local.base-url:/api/files}")
+    private String baseUrl;
+
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(rootDirectory).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
+        String key = StorageService.generateFileKey(fileName);
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+
+            // FileChannel to FileChannel transfers are zero-copy. Multipart parts from Tomcat are not FileInputStreams,
+            // so request uploads always take the channel-adapter path, which copies through a small buffer
+            ReadableByteChannel source = (inputStream instanceof FileInputStream fileInputStream)
+                    ? fileInputStream.getChannel()
+                    : Channels.newChannel(inputStream);
+
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long written = 0;
+                while (written < contentLength) {
+                    long transferred = channel.transferFrom(source, written, contentLength - written);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    written += transferred;
+                }
+                if (written != contentLength) {
+                    throw new IOException("Expected " + contentLength + " bytes but received " + written);
+                }
+            }
+            return key;
+        } catch (Exception e) {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException ignored) {
+                // Nothing more to clean up
+            }
+            throw new RuntimeException("Failed to store file locally: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getFileUrl(String key) {
+        if (key == null) {
+            throw new RuntimeException("Failed to build file URL: key is null");
+        }
+        return baseUrl + "/" + key;
+    }
+
+    @Override
+    public Duration getUrlLifetime() {
+        // Local URLs are not signed and never expire
+        return Duration.ofDays(365);
+    }
+
+    @Override
+    public void deleteFile(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete local file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream openFile(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (IOException e) {
+            throw new RuntimeException("File not found: " + key, e);
+        }
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new BadRequestException("Invalid file key");
+        }
+        return path;
+    }
+}
@@ -4,29 +4,42 @@ import com.marketplace.dto.ApiResponse;
 import com.marketplace.dto.CounterOfferRequest;
 import com.marketplace.dto.CounterOfferResponseRequest;
 import com.marketplace.dto.OfferCreateRequest;
+import com.marketplace.enums.OfferAction;
 import com.marketplace.enums.OfferStatus;
 import com.marketplace.enums.UserRole;
 import com.marketplace.model.Offer;
+import com.marketplace.model.OfferHistoryEntry;
 import com.marketplace.model.Product;
 import com.marketplace.model.User;
 import com.marketplace.repository.OfferRepository;
 import com.marketplace.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class OfferService {
 
+    private static final String SELLER_ID = "sellerId";
+    private static final String BUYER_ID = "buyerId";
+
     private final OfferRepository offerRepository;
     private final ProductRepository productRepository;
     private final UserService userService;
 
+    @Value("${app.offers.history.max-entries:50}")
+    private int historyMaxEntries;
+
     public OfferService(OfferRepository offerRepository, ProductRepository productRepository, 
                        UserService userService) {
         this.offerRepository = offerRepository;
@@ -66,29 +79,11 @@ public class OfferService {
     }
 
     public Map<String, Object> acceptOffer(String offerId, String userId) {
-        Offer offer = offerRepository.findByOfferId(offerId)
-            .orElseThrow(() -> new RuntimeException("Offer not found"));
-
-        if (!offer.getSellerId().equals(userId)) {
-            throw new RuntimeException("Only seller can accept offer");
-        }
-
-        if (offer.getStatus() != OfferStatus.PENDING) {
-            throw new RuntimeException("Offer is not pending");
-        }
-
-        // Update offer status and add to history
-        offer.setStatus(OfferStatus.ACCEPTED);
-        if (offer.getHistory() == null) {
-            offer.setHistory(new ArrayList<>());
-        }
-        Map<String, Object> historyEntry = new HashMap<>();
-        historyEntry.put("action", "accepted");
-        historyEntry.put("timestamp", LocalDateTime.now());
-        historyEntry.put("by", userId);
-        offer.getHistory().add(historyEntry);
+        Update update = withHistory(new Update().set("status", OfferStatus.ACCEPTED),
+            new OfferHistoryEntry(OfferAction.ACCEPTED, userId, null, null));
 
-        offerRepository.save(offer);
+        Offer offer = applyTransition(offerId, SELLER_ID, userId, OfferStatus.PENDING, update,
+            "Only seller can accept offer", "Offer is not pending");
 
         // Get both buyer and seller details for contact exchange
         User seller = userService.findByUserId(offer.getSellerId());
@@ -111,215 +106,113 @@ public class OfferService {
     }
 
     public Map<String, Object> rejectOffer(String offerId, String userId) {
-        Offer offer = offerRepository.findByOfferId(offerId)
-            .orElseThrow(() -> new RuntimeException("Offer not found"));
+        Update update = withHistory(new Update().set("status", OfferStatus.REJECTED),
+            new OfferHistoryEntry(OfferAction.REJECTED, userId, null, null));
 
-        if (!offer.getSellerId().equals(userId)) {
-            throw new RuntimeException("Only seller can reject offer");
-        }
-
-        if (offer.getStatus() != OfferStatus.PENDING) {
-            throw new RuntimeException("Offer is not pending");
-        }
-
-        // Update offer status and add to history
-        offer.setStatus(OfferStatus.REJECTED);
-        if (offer.getHistory() == null) {
-            offer.setHistory(new ArrayList<>());
-        }
-        Map<String, Object> historyEntry = new HashMap<>();
-        historyEntry.put("action", "rejected");
-        historyEntry.put("timestamp", LocalDateTime.now());
-        historyEntry.put("by", userId);
-        offer.getHistory().add(historyEntry);
-
-        offerRepository.save(offer);
+        applyTransition(offerId, SELLER_ID, userId, OfferStatus.PENDING, update,
+            "Only seller can reject offer", "Offer is not pending");
 
         return Map.of("message", "Offer rejected successfully");
     }
 
     public Map<String, Object> counterOffer(String offerId, CounterOfferRequest request, String userId) {
-        Offer offer = offerRepository.findByOfferId(offerId)
-            .orElseThrow(() -> new RuntimeException("Offer not found"));
-
         if (request.getResponseType() != null) {
             // This is a buyer responding to a counter offer
-            if (!offer.getBuyerId().equals(userId)) {
-                throw new RuntimeException("Only buyer can respond to counter offer");
-            }
-            
-            if (offer.getStatus() != OfferStatus.COUNTERED) {
-                throw new RuntimeException("No counter offer to respond to");
-            }
-            
-            if ("accept".equals(request.getResponseType())) {
-                // Buyer accepts counter offer
-                offer.setStatus(OfferStatus.COUNTER_ACCEPTED);
-                offer.setCounterResponse("accepted");
-                offer.setCounterResponseMessage(request.getMessage());
-                
-                // Add to history
-                if (offer.getHistory() == null) {
-                    offer.setHistory(new ArrayList<>());
-                }
-                Map<String, Object> historyEntry = new HashMap<>();
-                historyEntry.put("action", "counter_accepted");
-                historyEntry.put("message", request.getMessage());
-                historyEntry.put("timestamp", LocalDateTime.now());
-                historyEntry.put("by", userId);
-                offer.getHistory().add(historyEntry);
-                
-                offerRepository.save(offer);
-                
-                // Get both buyer and seller details for contact exchange
-                User seller = userService.findByUserId(offer.getSellerId());
-                User buyer = userService.findByUserId(offer.getBuyerId());
-                
-                return Map.of(
-                    "message", "Counter offer accepted successfully",
-                    "buyer_contact", Map.of(
-                        "name", buyer.getName(),
-                        "email", buyer.getEmail(),
-                        "phone", buyer.getPhone()
-                    ),
-                    "seller_contact", Map.of(
-                        "name", seller.getName(),
-                        "email", seller.getEmail(),
-                        "phone", seller.getPhone()
-                    )
-                );
-                
-            } else if ("reject".equals(request.getResponseType())) {
-                // Buyer rejects counter offer
-                offer.setStatus(OfferStatus.COUNTER_REJECTED);
-                offer.setCounterResponse("rejected");
-                offer.setCounterResponseMessage(request.getMessage());
-                
-                // Add to history
-                if (offer.getHistory() == null) {
-                    offer.setHistory(new ArrayList<>());
-                }
-                Map<String, Object> historyEntry = new HashMap<>();
-                historyEntry.put("action", "counter_rejected");
-                historyEntry.put("message", request.getMessage());
-                historyEntry.put("timestamp", LocalDateTime.now());
-                historyEntry.put("by", userId);
-                offer.getHistory().add(historyEntry);
-                
-                offerRepository.save(offer);
-                
-                return Map.of("message", "Counter offer rejected successfully");
-            }
-        } else {
-            // This is a seller making a counter offer
-            if (!offer.getSellerId().equals(userId)) {
-                throw new RuntimeException("Only seller can counter offer");
-            }
-
-            if (offer.getStatus() != OfferStatus.PENDING) {
-                throw new RuntimeException("Offer is not pending");
-            }
+            return applyCounterResponse(offerId, request.getResponseType(), request.getMessage(), userId,
+                "Invalid request");
+        }
 
-            // Update offer with counter offer
-            offer.setStatus(OfferStatus.COUNTERED);
-            offer.setCounterAmount(request.getAmount());
-            offer.setCounterMessage(request.getMessage());
+        // This is a seller making a counter offer
+        OfferHistoryEntry historyEntry = new OfferHistoryEntry(OfferAction.COUNTERED, userId,
+            request.getAmount(), request.getMessage());
 
-            if (offer.getHistory() == null) {
-                offer.setHistory(new ArrayList<>());
-            }
-            Map<String, Object> historyEntry = new HashMap<>();
-            historyEntry.put("action", "countered");
-            historyEntry.put("amount", request.getAmount());
-            historyEntry.put("message", request.getMessage());
-            historyEntry.put("timestamp", LocalDateTime.now());
-            historyEntry.put("by", userId);
-            offer.getHistory().add(historyEntry);
+        Update update = withHistory(new Update()
+            .set("status", OfferStatus.COUNTERED)
+            .set("counterAmount", request.getAmount())
+            .set("counterMessage", request.getMessage()), historyEntry);
 
-            offerRepository.save(offer);
+        applyTransition(offerId, SELLER_ID, userId, OfferStatus.PENDING, update,
+            "Only seller can counter offer", "Offer is not pending");
 
-            return Map.of("message", "Counter offer sent successfully");
-        }
-        
-        throw new RuntimeException("Invalid request");
+        return Map.of("message", "Counter offer sent successfully");
     }
 
     public Map<String, Object> respondToCounterOffer(String offerId, CounterOfferResponseRequest request, String userId) {
-        Offer offer = offerRepository.findByOfferId(offerId)
-            .orElseThrow(() -> new RuntimeException("Offer not found"));
+        return applyCounterResponse(offerId, request.getResponseType(), request.getMessage(), userId,
+            "Invalid response type");
+    }
 
-        if (!offer.getBuyerId().equals(userId)) {
-            throw new RuntimeException("Only buyer can respond to counter offer");
+    private Map<String, Object> applyCounterResponse(String offerId, String responseType, String message,
+                                                     String userId, String invalidTypeMessage) {
+        boolean accept = "accept".equals(responseType);
+        if (!accept && !"reject".equals(responseType)) {
+            throw new RuntimeException(invalidTypeMessage);
         }
-        
-        if (offer.getStatus() != OfferStatus.COUNTERED) {
-            throw new RuntimeException("No counter offer to respond to");
-        }
-        
-        if ("accept".equals(request.getResponseType())) {
-            // Buyer accepts counter offer
-            offer.setStatus(OfferStatus.COUNTER_ACCEPTED);
-            offer.setCounterResponse("accepted");
-            offer.setCounterResponseMessage(request.getMessage());
-            
-            // Add to history
-            if (offer.getHistory() == null) {
-                offer.setHistory(new ArrayList<>());
-            }
-            Map<String, Object> historyEntry = new HashMap<>();
-            historyEntry.put("action", "counter_accepted");
-            historyEntry.put("message", request.getMessage());
-            historyEntry.put("timestamp", LocalDateTime.now());
-            historyEntry.put("by", userId);
-            offer.getHistory().add(historyEntry);
-            
-            offerRepository.save(offer);
-            
-            // Get both buyer and seller details for contact exchange
-            User seller = userService.findByUserId(offer.getSellerId());
-            User buyer = userService.findByUserId(offer.getBuyerId());
-            
-            return Map.of(
-                "message", "Counter offer accepted successfully",
-                "buyer_contact", Map.of(
-                    "name", buyer.getName(),
-                    "email", buyer.getEmail(),
-                    "phone", buyer.getPhone()
-                ),
-                "seller_contact", Map.of(
-                    "name", seller.getName(),
-                    "email", seller.getEmail(),
-                    "phone", seller.getPhone()
-                )
-            );
-            
-        } else if ("reject".equals(request.getResponseType())) {
-            // Buyer rejects counter offer
-            offer.setStatus(OfferStatus.COUNTER_REJECTED);
-            offer.setCounterResponse("rejected");
-            offer.setCounterResponseMessage(request.getMessage());
-            
-            // Add to history
-            if (offer.getHistory() == null) {
-                offer.setHistory(new ArrayList<>());
-            }
-            Map<String, Object> historyEntry = new HashMap<>();
-            historyEntry.put("action", "counter_rejected");
-            historyEntry.put("message", request.getMessage());
-            historyEntry.put("timestamp", LocalDateTime.now());
-            historyEntry.put("by", userId);
-            offer.getHistory().add(historyEntry);
-            
-            offerRepository.save(offer);
-            
+
+        OfferHistoryEntry historyEntry = new OfferHistoryEntry(
+            accept ? OfferAction.COUNTER_ACCEPTED : OfferAction.COUNTER_REJECTED, userId, null, message);
+
+        Update update = withHistory(new Update()
+            .set("status", accept ? OfferStatus.COUNTER_ACCEPTED : OfferStatus.COUNTER_REJECTED)
+            .set("counterResponse", accept ? "accepted" : "rejected")
+            .set("counterResponseMessage", message), historyEntry);
+
+        Offer offer = applyTransition(offerId, BUYER_ID, userId, OfferStatus.COUNTERED, update,
+            "Only buyer can respond to counter offer", "No counter offer to respond to");
+
+        if (!accept) {
             return Map.of("message", "Counter offer rejected successfully");
         }
-        
-        throw new RuntimeException("Invalid response type");
+
+        // Get both buyer and seller details for contact exchange
+        User seller = userService.findByUserId(offer.getSellerId());
+        User buyer = userService.findByUserId(offer.getBuyerId());
+
+        return Map.of(
+            "message", "Counter offer accepted successfully",
+            "buyer_contact", Map.of(
+                "name", buyer.getName(),
+                "email", buyer.getEmail(),
+                "phone", buyer.getPhone()
+            ),
+            "seller_contact", Map.of(
+                "name", seller.getName(),
+                "email", seller.getEmail(),
+                "phone", seller.getPhone()
+            )
+        );
+    }
+
+    // One conditional findAndModify per transition. Only when nothing matched is the offer read again,
+    // to report why: missing, wrong user, or no longer in the expected status (e.g. lost a race).
+    private Offer applyTransition(String offerId, String actorField, String userId, OfferStatus expectedStatus,
+                                  Update update, String wrongActorMessage, String wrongStatusMessage) {
+        Optional<Offer> updated = offerRepository.updateIfStatus(offerId, actorField, userId, expectedStatus, update);
+        if (updated.isPresent()) {
+            return updated.get();
+        }
+
+        Offer current = offerRepository.findByOfferId(offerId)
+            .orElseThrow(() -> new RuntimeException("Offer not found"));
+        String actorId = SELLER_ID.equals(actorField) ? current.getSellerId() : current.getBuyerId();
+        if (!userId.equals(actorId)) {
+            throw new RuntimeException(wrongActorMessage);
+        }
+        throw new RuntimeException(wrongStatusMessage);
+    }
+
+    // Appends the entry; with a cap configured, $slice keeps only the newest historyMaxEntries
+    private Update withHistory(Update update, OfferHistoryEntry entry) {
+        Update.PushOperatorBuilder push = update.push("history");
+        if (historyMaxEntries > 0) {
+            push = push.slice(-historyMaxEntries);
+        }
+        return push.each(entry);
     }
 
     public Map<String, Object> getReceivedOffers(String userId) {
         List<Offer> offers = offerRepository.findBySellerIdOrderByCreatedAtDesc(userId);
+        Map<String, String> productNames = findProductNames(offers);
         List<Map<String, Object>> offersWithDetails = new ArrayList<>();
 
         for (Offer offer : offers) {
@@ -337,8 +230,10 @@ public class OfferService {
             offerDetails.put("createdAt", offer.getCreatedAt());
 
             // Add product details
-            productRepository.findByProductIdAndIsActiveTrue(offer.getProductId())
-                .ifPresent(product -> offerDetails.put("product_name", product.getName()));
+            String productName = productNames.get(offer.getProductId());
+            if (productName != null) {
+                offerDetails.put("product_name", productName);
+            }
 
             offersWithDetails.add(offerDetails);
         }
@@ -348,6 +243,15 @@ public class OfferService {
 
     public Map<String, Object> getSentOffers(String userId) {
         List<Offer> offers = offerRepository.findByBuyerIdOrderByCreatedAtDesc(userId);
+        Map<String, String> productNames = findProductNames(offers);
+
+        // Seller contacts are only shown for accepted offers, so only those sellers are loaded
+        Set<String> sellerIds = offers.stream()
+            .filter(this::isAccepted)
+            .map(Offer::getSellerId)
+            .collect(Collectors.toSet());
+        Map<String, User> sellers = userService.findContactsByUserIds(sellerIds);
+
         List<Map<String, Object>> offersWithDetails = new ArrayList<>();
 
         for (Offer offer : offers) {
@@ -363,12 +267,14 @@ public class OfferService {
             offerDetails.put("createdAt", offer.getCreatedAt());
 
             // Add product details
-            productRepository.findByProductIdAndIsActiveTrue(offer.getProductId())
-                .ifPresent(product -> offerDetails.put("product_name", product.getName()));
+            String productName = productNames.get(offer.getProductId());
+            if (productName != null) {
+                offerDetails.put("product_name", productName);
+            }
 
             // Add seller contact details for accepted offers
-            if (offer.getStatus() == OfferStatus.ACCEPTED || offer.getStatus() == OfferStatus.COUNTER_ACCEPTED) {
-                User seller = userService.findByUserId(offer.getSellerId());
+            User seller = isAccepted(offer) ? sellers.get(offer.getSellerId()) : null;
+            if (seller != null) {
                 offerDetails.put("seller_contact", Map.of(
                     "name", seller.getName(),
                     "email", seller.getEmail(),
@@ -382,6 +288,27 @@ public class OfferService {
         return Map.of("offers", offersWithDetails);
     }
 
+    private boolean isAccepted(Offer offer) {
+        return offer.getStatus() == OfferStatus.ACCEPTED || offer.getStatus() == OfferStatus.COUNTER_ACCEPTED;
+    }
+
+    // One $in query for every product referenced by the offers, instead of one lookup per offer
+    private Map<String, String> findProductNames(List<Offer> offers) {
+        Set<String> productIds = offers.stream()
+            .map(Offer::getProductId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (productIds.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        Map<String, String> productNames = new HashMap<>();
+        for (Product product : productRepository.findNamesByProductIdIn(productIds)) {
+            productNames.put(product.getProductId(), product.getName());
+        }
+        return productNames;
+    }
+
     public Map<String, Object> getOffersForProduct(String productId, String userId) {
         // First verify the user owns this product
         Product product = productRepository.findByProductIdAndIsActiveTrue(productId)
@@ -0,0 +1,76 @@
+package com.marketplace.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.marketplace.dto.ProductDisplayDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Read-through cache of rendered product details, size-bounded with Caffeine's W-TinyLFU eviction
+@Component
+public class ProductDetailCache {
+
+    private final Cache<String, ProductDisplayDto> cache;
+    // Bumped by every invalidation, so a load that raced one is returned but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public ProductDetailCache(StorageService storageService, MeterRegistry meterRegistry,
+                              @Value("${app.products.detail-cache.max-size:10000}") long maxSize,
+                              @Value("${app.products.detail-cache.ttl:30m}") Duration ttl) {
+        this(storageService, meterRegistry, maxSize, ttl, Ticker.systemTicker());
+    }
+
+    ProductDetailCache(StorageService storageService, MeterRegistry meterRegistry, long maxSize, Duration ttl,
+                       Ticker ticker) {
+        // Cached DTOs embed asset URLs, so an entry must never outlive them
+        Duration urlLifetime = storageService.getUrlLifetime();
+        Duration effectiveTtl = ttl.compareTo(urlLifetime) < 0 ? ttl : urlLifetime;
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(effectiveTtl)
+                .recordStats()
+                .ticker(ticker)
+                .build();
+        // Hit ratio and eviction counts as cache_gets / cache_evictions{cache="products.detail"}
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products.detail");
+    }
+
+    // The loader runs outside Caffeine's compute: a blocking Mongo call under its map lock would pin the carrier
+    // thread in virtual-thread mode. Concurrent misses may load twice. Misses are not cached: a loader that throws
+    // leaves no entry behind.
+    public ProductDisplayDto get(String productId, Function<String, ProductDisplayDto> loader) {
+        ProductDisplayDto cached = cache.getIfPresent(productId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = invalidations.get();
+        ProductDisplayDto loaded = loader.apply(productId);
+        if (invalidations.get() == generation) {
+            cache.put(productId, loaded);
+        }
+        return loaded;
+    }
+
+    public void invalidate(String productId) {
+        if (productId != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(productId);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
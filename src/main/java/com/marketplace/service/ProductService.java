@@ -1,21 +1,36 @@
 package com.marketplace.service;
 
 import com.marketplace.model.Product;
+import com.marketplace.model.ProductSummary;
 import com.marketplace.model.DocumentInfo;
+import com.marketplace.model.User;
 import com.marketplace.repository.ProductRepository;
 import com.marketplace.dto.ProductCreateRequest;
+import com.marketplace.dto.ProductCursor;
 import com.marketplace.dto.ProductDisplayDto;
 import com.marketplace.dto.DocumentDisplayDto;
-import com.marketplace.service.S3Service;
 import com.marketplace.service.UserService;
 import com.marketplace.exception.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import com.marketplace.enums.ProductCategory;
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -23,49 +38,83 @@ import java.util.HashMap;
 @Service
 public class ProductService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
+
     private final ProductRepository productRepository;
-    private final S3Service s3Service;
+    private final StorageService storageService;
     private final UserService userService;
+    private final Executor uploadExecutor;
+    private final ProductDetailCache productDetailCache;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final CatalogVersionService catalogVersionService;
+
+    @Value("${app.products.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.products.page.max-size:100}")
+    private int maxPageSize;
 
-    public ProductService(ProductRepository productRepository, S3Service s3Service, UserService userService) {
+    public ProductService(ProductRepository productRepository, StorageService storageService, UserService userService,
+                          @Qualifier("uploadExecutor") Executor uploadExecutor, ProductDetailCache productDetailCache,
+                          CatalogSnapshotService catalogSnapshotService, CatalogVersionService catalogVersionService) {
         this.productRepository = productRepository;
-        this.s3Service = s3Service;
+        this.storageService = storageService;
         this.userService = userService;
+        this.uploadExecutor = uploadExecutor;
+        this.productDetailCache = productDetailCache;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     public Map<String, Object> createProduct(ProductCreateRequest request, String userId) {
+        List<String> uploadedKeys = Collections.synchronizedList(new ArrayList<>());
         try {
-            String imageS3Key = null;
+            // Image and documents upload concurrently; the product is only saved if every upload succeeds
+            CompletableFuture<String> imageUpload = null;
             if (request.getImage() != null && !request.getImage().isEmpty()) {
-                byte[] imageData = request.getImage().getBytes();
-                imageS3Key = s3Service.uploadFile(imageData, request.getImage().getOriginalFilename(), request.getImage().getContentType());
+                imageUpload = uploadAsync(request.getImage(), uploadedKeys);
             }
 
-            List<DocumentInfo> documents = new ArrayList<>();
+            List<MultipartFile> documentFiles = new ArrayList<>();
+            List<CompletableFuture<String>> documentUploads = new ArrayList<>();
             if (request.getDocuments() != null && !request.getDocuments().isEmpty()) {
                 for (MultipartFile doc : request.getDocuments()) {
                     if (doc != null && !doc.isEmpty()) {
-                        byte[] docData = doc.getBytes();
-                        String docS3Key = s3Service.uploadFile(docData, doc.getOriginalFilename(), doc.getContentType());
-                        
-                        DocumentInfo docInfo = new DocumentInfo();
-                        docInfo.setId(java.util.UUID.randomUUID().toString());
-                        docInfo.setFileName(doc.getOriginalFilename());
-                        docInfo.setS3Key(docS3Key);
-                        docInfo.setContentType(doc.getContentType());
-                        docInfo.setFileSize(doc.getSize());
-                        documents.add(docInfo);
+                        documentFiles.add(doc);
+                        documentUploads.add(uploadAsync(doc, uploadedKeys));
                     }
                 }
             }
 
-            String sellerName = userService.findByUserId(userId).getName();
+            // allOf only completes once every upload has finished, so uploadedKeys is final after this
+            List<CompletableFuture<String>> allUploads = new ArrayList<>(documentUploads);
+            if (imageUpload != null) {
+                allUploads.add(imageUpload);
+            }
+            CompletableFuture.allOf(allUploads.toArray(new CompletableFuture[0])).join();
+
+            String imageS3Key = imageUpload != null ? imageUpload.join() : null;
+
+            List<DocumentInfo> documents = new ArrayList<>();
+            for (int i = 0; i < documentFiles.size(); i++) {
+                MultipartFile doc = documentFiles.get(i);
+
+                DocumentInfo docInfo = new DocumentInfo();
+                docInfo.setId(java.util.UUID.randomUUID().toString());
+                docInfo.setFileName(doc.getOriginalFilename());
+                docInfo.setS3Key(documentUploads.get(i).join());
+                docInfo.setContentType(doc.getContentType());
+                docInfo.setFileSize(doc.getSize());
+                documents.add(docInfo);
+            }
+
+            User seller = userService.findByUserId(userId);
             
             Product product = new Product(
                 java.util.UUID.randomUUID().toString(),
                 userId,
-                sellerName,
-                userService.findByUserId(userId).getEmail(),
+                seller.getName(),
+                seller.getEmail(),
                 request.getName(),
                 request.getDescription(),
                 request.getCategory(),
@@ -79,84 +128,136 @@ public class ProductService {
             );
             
             productRepository.save(product);
+            productDetailCache.invalidate(product.getProductId());
+            // New listing changes the feed ETag right away instead of at the next poll
+            catalogVersionService.refresh();
             return Map.of("product", sanitizeProduct(product));
         } catch (Exception e) {
-            throw new RuntimeException("Failed to create product: " + e.getMessage());
+            deleteUploadedFiles(uploadedKeys);
+            Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+            throw new RuntimeException("Failed to create product: " + cause.getMessage());
         }
     }
 
-    public Map<String, Object> getProducts(String category, String search, String location) {
-        List<Product> products;
-        
-        try {
-            // Use simple query to avoid conversion errors
-            products = productRepository.findByIsActiveTrueOrderByCreatedAtDesc();
-        } catch (Exception e) {
-            // If there's a conversion error, try to get products without documents field
+    private CompletableFuture<String> uploadAsync(MultipartFile file, List<String> uploadedKeys) {
+        return CompletableFuture.supplyAsync(() -> {
             try {
-                products = productRepository.findByIsActiveTrueWithoutDocuments();
-            } catch (Exception e2) {
-                // If still failing, try to get products with valid data only
-                try {
-                    products = productRepository.findByIsActiveAndValidDataOrderByCreatedAtDesc();
-                } catch (Exception e3) {
-                    // If still failing, return empty list
-                    products = new ArrayList<>();
-                }
+                String key = uploadMultipartFile(file);
+                uploadedKeys.add(key);
+                return key;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, uploadExecutor);
+    }
+
+    private void deleteUploadedFiles(List<String> keys) {
+        // Iterates a snapshot rather than holding the list's monitor across network deletes, which would pin the
+        // carrier thread in virtual-thread mode
+        for (String key : new ArrayList<>(keys)) {
+            try {
+                storageService.deleteFile(key);
+            } catch (Exception e) {
+                logger.warn("Could not clean up uploaded file {}: {}", key, e.getMessage());
             }
         }
-        
-        // Apply filters in memory if needed
+    }
+
+    private String uploadMultipartFile(MultipartFile file) throws IOException {
+        // Multipart parts are spooled to disk by the container; stream them to storage rather than calling getBytes()
+        try (InputStream inputStream = file.getInputStream()) {
+            return storageService.uploadFile(inputStream, file.getSize(), file.getOriginalFilename(), file.getContentType());
+        }
+    }
+
+    public Map<String, Object> getProducts(String category, String search, String location,
+                                           String cursor, Integer limit) {
+        ProductCategory categoryEnum = null;
         if (category != null && !category.trim().isEmpty()) {
             try {
-                ProductCategory categoryEnum = ProductCategory.valueOf(category.toUpperCase());
-                products = products.stream()
-                    .filter(product -> product.getCategory() == categoryEnum)
-                    .collect(Collectors.toList());
+                categoryEnum = ProductCategory.valueOf(category.toUpperCase());
             } catch (IllegalArgumentException e) {
                 // Invalid category, return empty list
-                products = new ArrayList<>();
+                return buildPage(new ArrayList<>(), null);
             }
         }
-        
-        if (search != null && !search.trim().isEmpty()) {
-            String searchLower = search.toLowerCase();
-            products = products.stream()
-                .filter(product -> 
-                    (product.getName() != null && product.getName().toLowerCase().contains(searchLower)) ||
-                    (product.getDescription() != null && product.getDescription().toLowerCase().contains(searchLower))
-                )
-                .collect(Collectors.toList());
+
+        ProductCursor after = (cursor != null && !cursor.trim().isEmpty()) ? ProductCursor.decode(cursor) : null;
+        int pageSize = resolvePageSize(limit);
+
+        boolean searching = search != null && !search.trim().isEmpty();
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+
+        List<ProductSummary> products;
+        if (searching) {
+            // Text search returns the top matches by relevance, so there is no cursor to continue from
+            products = productRepository.searchActiveSummaries(categoryEnum, search, location, pageSize);
+        } else if (snapshot != null) {
+            // Served from the in-memory catalog; one extra row tells whether another page follows
+            products = snapshot.page(categoryEnum, location, after, pageSize + 1);
+        } else {
+            // One extra row is fetched to find out whether another page follows
+            products = productRepository.findActiveSummaries(categoryEnum, location, after, pageSize + 1);
         }
-        
-        if (location != null && !location.trim().isEmpty()) {
-            String locationLower = location.toLowerCase();
-            products = products.stream()
-                .filter(product -> 
-                    product.getLocation() != null && product.getLocation().toLowerCase().contains(locationLower)
-                )
-                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (!searching && products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            ProductSummary last = products.get(pageSize - 1);
+            nextCursor = new ProductCursor(last.getCreatedAt(), last.getProductId()).encode();
         }
         
         List<ProductDisplayDto> productDtos = products.stream()
                 .filter(product -> product != null)
-                .map(this::sanitizeProduct)
+                .map(this::summarizeProduct)
                 .collect(Collectors.toList());
         
-        return Map.of("products", productDtos);
+        return buildPage(productDtos, nextCursor);
+    }
+
+    // Feed variant for the NDJSON endpoint: no paging, each listing is handed to the sink as soon as it is read
+    // and mapped, so memory use does not grow with the catalog
+    public void streamProducts(String category, String location, Consumer<ProductDisplayDto> sink) {
+        ProductCategory categoryEnum = null;
+        if (category != null && !category.trim().isEmpty()) {
+            try {
+                categoryEnum = ProductCategory.valueOf(category.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Invalid category, stream nothing
+                return;
+            }
+        }
+
+        try (Stream<ProductSummary> products = productRepository.streamActiveSummaries(categoryEnum, location)) {
+            products.map(this::summarizeProduct).forEach(sink);
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+
+    private Map<String, Object> buildPage(List<ProductDisplayDto> products, String nextCursor) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("products", products);
+        response.put("nextCursor", nextCursor);
+        return response;
     }
 
     public Map<String, Object> getProductDetails(String productId) {
+        return Map.of("product", productDetailCache.get(productId, this::loadProductDetails));
+    }
+
+    private ProductDisplayDto loadProductDetails(String productId) {
         Product product;
         
         try {
-            // First try to find by productId
-            product = productRepository.findByProductIdAndIsActiveTrue(productId)
-                    .orElseGet(() -> {
-                        // If not found, try to find by either productId or id
-                        return productRepository.findByProductIdOrIdAndIsActiveTrue(productId)
-                                .orElse(null);
-                    });
+            // Matches either productId or, for older rows, the Mongo id in a single query
+            product = productRepository.findByProductIdOrIdAndIsActiveTrue(productId)
+                    .orElse(null);
             
             if (product == null) {
                 throw new ApiException("Product not found");
@@ -165,34 +266,51 @@ public class ProductService {
             throw new ApiException("Product not found or has invalid data");
         }
         
-        return Map.of("product", sanitizeProduct(product));
+        return sanitizeProduct(product);
     }
 
     public Map<String, Object> getMyProducts(String userId) {
-        List<Product> products;
-        
-        try {
-            products = productRepository.findBySellerIdOrderByCreatedAtDesc(userId);
-        } catch (Exception e) {
-            // If there's a conversion error, try to get products without documents
-            try {
-                // Create a custom query to get products by sellerId without documents field
-                products = productRepository.findAll().stream()
-                    .filter(p -> p.getSellerId() != null && p.getSellerId().equals(userId) && p.isActive())
-                    .collect(Collectors.toList());
-            } catch (Exception e2) {
-                products = new ArrayList<>();
-            }
-        }
+        List<ProductSummary> products = productRepository.findSummariesBySellerIdOrderByCreatedAtDesc(userId);
         
         List<ProductDisplayDto> productDtos = products.stream()
                 .filter(product -> product != null)
-                .map(this::sanitizeProduct)
+                .map(this::summarizeProduct)
                 .collect(Collectors.toList());
         
         return Map.of("products", productDtos);
     }
 
+    // Card view for list endpoints; documents are only resolved on the detail path
+    private ProductDisplayDto summarizeProduct(ProductSummary product) {
+        ProductDisplayDto dto = new ProductDisplayDto();
+        
+        // Use productId if available, otherwise use MongoDB id
+        dto.setProductId(product.getProductId() != null ? product.getProductId() : product.getId());
+        dto.setSellerId(product.getSellerId());
+        dto.setSellerName(product.getSellerName());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setCategory(product.getCategory());
+        dto.setRevenue(product.getRevenue());
+        dto.setAskValue(product.getAskValue());
+        dto.setProfit(product.getProfit());
+        dto.setLocation(product.getLocation());
+        dto.setWebsite(product.getWebsite());
+        dto.setCreatedAt(product.getCreatedAt());
+        dto.setIsActive(product.isActive());
+        dto.setDocuments(new ArrayList<>());
+        
+        if (product.getImageS3Key() != null) {
+            try {
+                dto.setImageUrl(storageService.getFileUrl(product.getImageS3Key()));
+            } catch (Exception e) {
+                dto.setImageUrl(null);
+            }
+        }
+        
+        return dto;
+    }
+
     private ProductDisplayDto sanitizeProduct(Product product) {
         if (product == null) {
             return null;
@@ -219,50 +337,32 @@ public class ProductService {
         
         if (product.getImageS3Key() != null) {
             try {
-                String imageUrl = s3Service.generatePresignedUrl(product.getImageS3Key());
+                String imageUrl = storageService.getFileUrl(product.getImageS3Key());
                 dto.setImageUrl(imageUrl);
             } catch (Exception e) {
                 dto.setImageUrl(null);
             }
         }
         
-        // Handle documents - support both old and new formats
-        try {
-            if (product.getDocuments() != null && !product.getDocuments().isEmpty()) {
-                List<DocumentDisplayDto> docDtos = product.getDocuments().stream()
-                    .filter(doc -> doc != null) // Filter out null documents
-                    .map(doc -> {
-                        try {
-                            DocumentDisplayDto docDto = new DocumentDisplayDto();
-                            docDto.setId(doc.getId());
-                            docDto.setFileName(doc.getFileName());
-                            docDto.setContentType(doc.getContentType());
-                            docDto.setFileSize(doc.getFileSize());
-                            
-                            try {
-                                String docUrl = s3Service.generatePresignedUrl(doc.getS3Key());
-                                docDto.setUrl(docUrl);
-                            } catch (Exception e) {
-                                docDto.setUrl(null);
-                            }
-                            
-                            return docDto;
-                        } catch (Exception e) {
-                            // Skip invalid documents
-                            return null;
-                        }
-                    })
-                    .filter(docDto -> docDto != null) // Filter out null DTOs
-                    .collect(Collectors.toList());
+        List<DocumentDisplayDto> docDtos = product.getDocuments().stream()
+            .filter(doc -> doc != null)
+            .map(doc -> {
+                DocumentDisplayDto docDto = new DocumentDisplayDto();
+                docDto.setId(doc.getId());
+                docDto.setFileName(doc.getFileName());
+                docDto.setContentType(doc.getContentType());
+                docDto.setFileSize(doc.getFileSize());
                 
-                dto.setDocuments(docDtos);
-            } else {
-                dto.setDocuments(new ArrayList<>());
-            }
-        } catch (Exception e) {
-            // If there's an error with documents (old format), just set empty list
-            dto.setDocuments(new ArrayList<>());
-        }
+                try {
+                    docDto.setUrl(storageService.getFileUrl(doc.getS3Key()));
+                } catch (Exception e) {
+                    docDto.setUrl(null);
+                }
+                
+                return docDto;
+            })
+            .collect(Collectors.toList());
+        dto.setDocuments(docDtos);
         
         return dto;
     }
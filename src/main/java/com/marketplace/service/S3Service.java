@@ -1,74 +1,86 @@
 package com.marketplace.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.time.Duration;
-import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
-public class S3Service {
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+public class S3Service implements StorageService {
+
+    private static final Duration PRESIGNED_URL_DURATION = Duration.ofHours(24);
+    static final String REQUEST_TIMER = "storage.s3.requests";
 
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
-    @Value("${aws.s3.region}")
-    private String region;
-
-    @Value("${aws.access.key}")
-    private String accessKey;
+    @Value("${aws.s3.presign-cache.max-size:50000}")
+    private long presignCacheMaxSize;
 
-    @Value("${aws.secret.key}")
-    private String secretKey;
+    // Must stay well inside PRESIGNED_URL_DURATION so a cached URL is never handed out close to expiry
+    @Value("${aws.s3.presign-cache.ttl:12h}")
+    private Duration presignCacheTtl;
 
-    private S3Client s3Client;
-    private S3Presigner s3Presigner;
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final MeterRegistry meterRegistry;
+    private Cache<String, String> presignedUrlCache;
 
-    private S3Client getS3Client() {
-        if (s3Client == null) {
-            AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKey, secretKey);
-            s3Client = S3Client.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                    .build();
-        }
-        return s3Client;
+    public S3Service(S3Client s3Client, S3Presigner s3Presigner, MeterRegistry meterRegistry) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.meterRegistry = meterRegistry;
     }
 
-    private S3Presigner getS3Presigner() {
-        if (s3Presigner == null) {
-            AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKey, secretKey);
-            s3Presigner = S3Presigner.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                    .build();
+    @PostConstruct
+    void initPresignedUrlCache() {
+        if (presignCacheTtl.compareTo(PRESIGNED_URL_DURATION.dividedBy(2)) > 0) {
+            throw new IllegalStateException("aws.s3.presign-cache.ttl must be at most half of the presigned URL lifetime ("
+                    + PRESIGNED_URL_DURATION + ")");
         }
-        return s3Presigner;
+        presignedUrlCache = Caffeine.newBuilder()
+                .maximumSize(presignCacheMaxSize)
+                .expireAfterWrite(presignCacheTtl)
+                .recordStats()
+                .build();
+        // Hit/miss/eviction counts; only misses reach the presigner and show up in the "presign" timer
+        CaffeineCacheMetrics.monitor(meterRegistry, presignedUrlCache, "s3.presigned-urls");
     }
 
-    public String uploadFile(byte[] fileData, String fileName, String contentType) {
+    // Streams the body to S3 with a known length, so the file is never materialised on the heap
+    @Override
+    public String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType) {
         try {
-            String key = generateFileKey(fileName);
+            String key = StorageService.generateFileKey(fileName);
             
             PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
                     .contentType(contentType)
+                    .contentLength(contentLength)
                     .build();
 
-            getS3Client().putObject(putObjectRequest, RequestBody.fromInputStream(
-                    new ByteArrayInputStream(fileData), fileData.length));
+            timed("upload", () -> s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, contentLength)));
 
             return key;
         } catch (Exception e) {
@@ -76,6 +88,10 @@ public class S3Service {
         }
     }
 
+    public String uploadFile(byte[] fileData, String fileName, String contentType) {
+        return uploadFile(new ByteArrayInputStream(fileData), fileData.length, fileName, contentType);
+    }
+
     public String uploadBase64File(String base64Data, String fileName, String contentType) {
         try {
             // Remove data URL prefix if present
@@ -91,20 +107,43 @@ public class S3Service {
         }
     }
 
+    @Override
+    public String getFileUrl(String key) {
+        return generatePresignedUrl(key);
+    }
+
+    @Override
+    public Duration getUrlLifetime() {
+        // A URL may come out of the presign cache just before its entry expires
+        return PRESIGNED_URL_DURATION.minus(presignCacheTtl);
+    }
+
     public String generatePresignedUrl(String key) {
+        if (key == null) {
+            throw new RuntimeException("Failed to generate presigned URL: key is null");
+        }
+        return presignedUrlCache.get(key, this::presignGetObject);
+    }
+
+    public CacheStats getPresignedUrlCacheStats() {
+        return presignedUrlCache.stats();
+    }
+
+    private String presignGetObject(String key) {
         try {
             GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofHours(24)) // URL valid for 24 hours
+                    .signatureDuration(PRESIGNED_URL_DURATION)
                     .getObjectRequest(builder -> builder.bucket(bucketName).key(key))
                     .build();
 
-            PresignedGetObjectRequest presignedRequest = getS3Presigner().presignGetObject(presignRequest);
+            PresignedGetObjectRequest presignedRequest = timed("presign", () -> s3Presigner.presignGetObject(presignRequest));
             return presignedRequest.url().toString();
         } catch (Exception e) {
             throw new RuntimeException("Failed to generate presigned URL: " + e.getMessage(), e);
         }
     }
 
+    @Override
     public void deleteFile(String key) {
         try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
@@ -112,26 +151,45 @@ public class S3Service {
                     .key(key)
                     .build();
 
-            getS3Client().deleteObject(deleteObjectRequest);
+            timed("delete", () -> s3Client.deleteObject(deleteObjectRequest));
+            presignedUrlCache.invalidate(key);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete file from S3: " + e.getMessage(), e);
         }
     }
 
-    private String generateFileKey(String fileName) {
-        String extension = "";
-        if (fileName.contains(".")) {
-            extension = fileName.substring(fileName.lastIndexOf("."));
+    @Override
+    public InputStream openFile(String key) {
+        try {
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build();
+
+            return timed("read", () -> s3Client.getObject(getObjectRequest));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read file from S3: " + e.getMessage(), e);
         }
-        return "marketplace/" + UUID.randomUUID().toString() + extension;
     }
 
-    public void cleanup() {
-        if (s3Client != null) {
-            s3Client.close();
-        }
-        if (s3Presigner != null) {
-            s3Presigner.close();
+    // One timer per S3 call, tagged with the operation and whether it succeeded
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        String exception = "none";
+        try {
+            T result = call.get();
+            outcome = "SUCCESS";
+            return result;
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(REQUEST_TIMER)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.marketplace.service;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.UUID;
+
+// Object storage used for product images and documents; selected with app.storage.type (s3 or local)
+public interface StorageService {
+
+    // Stores the stream under a newly generated key and returns that key
+    String uploadFile(InputStream inputStream, long contentLength, String fileName, String contentType);
+
+    // URL a client can fetch the object from without further authentication
+    String getFileUrl(String key);
+
+    // Minimum time a URL returned by getFileUrl stays usable; anything that caches those URLs must expire sooner
+    Duration getUrlLifetime();
+
+    void deleteFile(String key);
+
+    InputStream openFile(String key);
+
+    static String generateFileKey(String fileName) {
+        String extension = "";
+        if (fileName.contains(".")) {
+            extension = fileName.substring(fileName.lastIndexOf("."));
+        }
+        return "marketplace/" + UUID.randomUUID().toString() + extension;
+    }
+}
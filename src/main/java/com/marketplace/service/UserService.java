@@ -16,9 +16,12 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -99,6 +102,14 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new BadRequestException("User not found"));
     }
 
+    public Map<String, User> findContactsByUserIds(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return userRepository.findContactsByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity(), (first, second) -> first));
+    }
+
     /** ================= SPRING SECURITY METHODS ================= */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -0,0 +1,104 @@
+package com.marketplace.config;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Actuator is served on its own port; only health and the probes are reachable without a token on the API port
+// Tests replace the Prometheus registry unless metrics export is switched back on
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ActuatorSecurityTest {
+
+    private static MongoServer mongoServer;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        mongoServer = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongoServer.bind();
+
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + address.getHostString() + ":" + address.getPort() + "/marketplace-actuator");
+        registry.add("spring.data.mongodb.database", () -> "marketplace-actuator");
+        registry.add("app.jwt.secret", () -> "actuator-test-secret-actuator-test-secret-actuator-test-secret");
+        registry.add("app.jwt.expiration", () -> "86400000");
+        registry.add("app.storage.type", () -> "local");
+        registry.add("app.storage.local.root", () -> "target/actuator-storage");
+        registry.add("app.migrations.enabled", () -> "false");
+        registry.add("management.server.port", () -> "0");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongoServer != null) {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testPrometheusIsServedOnManagementPort() throws Exception {
+        // Act
+        HttpResponse<String> response = get(managementPort, "/actuator/prometheus");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("application=\"marketplace-api\""));
+    }
+
+    @Test
+    void testHealthIsPublicOnManagementPort() throws Exception {
+        // Act
+        HttpResponse<String> response = get(managementPort, "/actuator/health");
+
+        // Assert
+        assertEquals(200, response.statusCode());
+    }
+
+    @Test
+    void testPrometheusIsNotPublicOnApiPort() throws Exception {
+        // Act
+        HttpResponse<String> response = get(port, "/actuator/prometheus");
+
+        // Assert
+        assertEquals(401, response.statusCode());
+    }
+
+    @Test
+    void testProbesArePublicOnApiPort() throws Exception {
+        // Act
+        HttpResponse<String> liveness = get(port, "/livez");
+        HttpResponse<String> readiness = get(port, "/readyz");
+
+        // Assert
+        assertEquals(200, liveness.statusCode());
+        assertEquals(200, readiness.statusCode());
+    }
+
+    private HttpResponse<String> get(int targetPort, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + targetPort + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,115 @@
+package com.marketplace.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.controller.ProductController;
+import com.marketplace.exception.GlobalExceptionHandler;
+import com.marketplace.repository.ProductRepository;
+import com.marketplace.service.CatalogSnapshotService;
+import com.marketplace.service.CatalogVersionService;
+import com.marketplace.service.ProductDetailCache;
+import com.marketplace.service.ProductService;
+import com.marketplace.service.StorageService;
+import com.marketplace.service.UserService;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AsyncRequestConfigTest {
+
+    @Test
+    void testBusyPlatformExecutorRejectsStreamWith503() throws Exception {
+        assertSecondStreamIsRejected(false);
+    }
+
+    @Test
+    void testBusyVirtualExecutorRejectsStreamWith503() throws Exception {
+        assertSecondStreamIsRejected(true);
+    }
+
+    private void assertSecondStreamIsRejected(boolean virtualThreads) throws Exception {
+        // Arrange: one async thread, held by a stream that blocks until released
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.streamActiveSummaries(any(), any())).thenAnswer(invocation -> {
+            streaming.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Stream.empty();
+        });
+
+        try (AnnotationConfigWebApplicationContext context = context(virtualThreads, productRepository)) {
+            MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+            MvcResult first = mockMvc.perform(get("/api/products/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            assertTrue(streaming.await(5, TimeUnit.SECONDS));
+
+            // Act: the submitting thread must not wait for the busy one
+            long start = System.nanoTime();
+            MockHttpServletRequest rejected = mockMvc.perform(get("/api/products/stream")).andReturn().getRequest();
+            // The rejection is stored as the async result without passing MockMvc's result hook,
+            // so the error dispatch is made directly, as the container would
+            rejected.setDispatcherType(DispatcherType.ASYNC);
+            rejected.setAsyncStarted(false);
+            MvcResult second = mockMvc.perform(servletContext -> rejected).andReturn();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            release.countDown();
+
+            // Assert
+            assertEquals(503, second.getResponse().getStatus());
+            assertEquals("Server is busy, please retry later", second.getResponse().getContentAsString());
+            assertTrue(elapsedMillis < 5_000, "rejection waited " + elapsedMillis + " ms");
+            mockMvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private AnnotationConfigWebApplicationContext context(boolean virtualThreads, ProductRepository productRepository) {
+        StorageService storageService = mock(StorageService.class);
+        ProductService productService = new ProductService(productRepository, storageService, mock(UserService.class),
+                Runnable::run, mock(ProductDetailCache.class), mock(CatalogSnapshotService.class),
+                mock(CatalogVersionService.class));
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "spring.threads.virtual.enabled", String.valueOf(virtualThreads),
+                "app.mvc.async.max-concurrency", "1")));
+        context.register(WebConfig.class);
+        ProductController controller = new ProductController(productService, mock(CatalogVersionService.class), objectMapper);
+        context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.registerSingleton("productController", controller));
+        context.refresh();
+        return context;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableWebMvc
+    @Import({AsyncRequestConfig.class, GlobalExceptionHandler.class})
+    static class WebConfig {
+    }
+}
@@ -0,0 +1,164 @@
+package com.marketplace.config;
+
+import com.marketplace.model.Favorite;
+import com.marketplace.model.Offer;
+import com.marketplace.model.Product;
+import com.marketplace.model.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class MongoIndexManagerTest {
+
+    @Test
+    void testEnsureIndexesContinuesPastFailures() {
+        // Arrange
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        when(mongoTemplate.getCollectionName(any())).thenReturn("favorites");
+        // Existing duplicate favorites make the unique index fail
+        when(indexOps.ensureIndex(argThat(definition -> "user_product".equals(definition.getIndexOptions().get("name")))))
+                .thenThrow(new RuntimeException("E11000 duplicate key error"));
+        MongoIndexManager manager = new MongoIndexManager(mongoTemplate);
+
+        // Act
+        manager.ensureIndexes();
+
+        // Assert
+        int expected = manager.getIndexDefinitions().values().stream().mapToInt(List::size).sum();
+        verify(indexOps, times(expected)).ensureIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    void testEnsureIndexesFailsWhenRequiredIndexCannotBeBuilt() {
+        // Arrange
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        when(mongoTemplate.getCollectionName(any())).thenReturn("products");
+        when(indexOps.ensureIndex(argThat(definition -> "Product_TextIndex".equals(definition.getIndexOptions().get("name")))))
+                .thenThrow(new RuntimeException("Index build failed"));
+        MongoIndexManager manager = new MongoIndexManager(mongoTemplate);
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class, manager::afterSingletonsInstantiated);
+
+        // Assert: the other indexes are still attempted before startup is aborted
+        assertTrue(exception.getMessage().contains("Product_TextIndex"));
+        int expected = manager.getIndexDefinitions().values().stream().mapToInt(List::size).sum();
+        verify(indexOps, times(expected)).ensureIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    void testFavoritesHaveUniqueUserProductIndex() {
+        // Arrange
+        MongoIndexManager manager = new MongoIndexManager(mock(MongoTemplate.class));
+
+        // Act
+        List<IndexDefinition> favoriteIndexes = manager.getIndexDefinitions().get(Favorite.class);
+
+        // Assert
+        assertEquals(1, favoriteIndexes.size());
+        assertEquals(new Document("userId", 1).append("productId", 1), favoriteIndexes.get(0).getIndexKeys());
+        assertEquals(true, favoriteIndexes.get(0).getIndexOptions().get("unique"));
+    }
+
+    // Runs every repository query shape through explain() against a real server and checks the winning plan
+    // uses an index. Point MONGO_TEST_URI at a disposable MongoDB to run it, e.g. mongodb://localhost:27017
+    @Nested
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    @EnabledIfEnvironmentVariable(named = "MONGO_TEST_URI", matches = ".+")
+    class ExplainPlans {
+
+        private static final String DATABASE = "marketplace_index_test";
+
+        private MongoClient client;
+        private MongoTemplate mongoTemplate;
+
+        @BeforeAll
+        void setUp() {
+            client = MongoClients.create(System.getenv("MONGO_TEST_URI"));
+            client.getDatabase(DATABASE).drop();
+            mongoTemplate = new MongoTemplate(client, DATABASE);
+            new MongoIndexManager(mongoTemplate).ensureIndexes();
+        }
+
+        @AfterAll
+        void tearDown() {
+            client.getDatabase(DATABASE).drop();
+            client.close();
+        }
+
+        @Test
+        void testProductQueriesUseIndexes() {
+            Date now = new Date();
+            assertUsesIndex(Product.class, new Document("productId", "p1").append("isActive", true), null);
+            assertUsesIndex(Product.class, new Document("$or", List.of(new Document("productId", "p1"), new Document("_id", "p1")))
+                    .append("isActive", true), null);
+            assertUsesIndex(Product.class, new Document("productId", new Document("$in", List.of("p1", "p2"))), null);
+            assertUsesIndex(Product.class, new Document("sellerId", "s1"), new Document("createdAt", -1));
+            assertUsesIndex(Product.class, new Document("isActive", true),
+                    new Document("createdAt", -1).append("productId", -1));
+            assertUsesIndex(Product.class, new Document("isActive", true).append("category", "SAAS"),
+                    new Document("createdAt", -1).append("productId", -1));
+            assertUsesIndex(Product.class, new Document("isActive", true)
+                    .append("$or", List.of(new Document("createdAt", new Document("$lt", now)),
+                            new Document("createdAt", now).append("productId", new Document("$lt", "p1")))),
+                    new Document("createdAt", -1).append("productId", -1));
+            assertUsesIndex(Product.class, new Document("isActive", true).append("createdAt", new Document("$gte", now)),
+                    new Document("createdAt", -1));
+            assertUsesIndex(Product.class, new Document("$text", new Document("$search", "analytics")).append("isActive", true), null);
+        }
+
+        @Test
+        void testOfferQueriesUseIndexes() {
+            assertUsesIndex(Offer.class, new Document("offerId", "o1"), null);
+            assertUsesIndex(Offer.class, new Document("sellerId", "s1"), new Document("createdAt", -1));
+            assertUsesIndex(Offer.class, new Document("buyerId", "b1"), new Document("createdAt", -1));
+            assertUsesIndex(Offer.class, new Document("productId", "p1"), new Document("createdAt", -1));
+        }
+
+        @Test
+        void testFavoriteQueriesUseIndexes() {
+            assertUsesIndex(Favorite.class, new Document("userId", "u1"), null);
+            assertUsesIndex(Favorite.class, new Document("userId", "u1").append("productId", "p1"), null);
+        }
+
+        @Test
+        void testUserQueriesUseIndexes() {
+            assertUsesIndex(User.class, new Document("userId", "u1"), null);
+            assertUsesIndex(User.class, new Document("userId", new Document("$in", List.of("u1", "u2"))), null);
+            assertUsesIndex(User.class, new Document("email", "a@example.com"), null);
+        }
+
+        private void assertUsesIndex(Class<?> entityClass, Document filter, Document sort) {
+            MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass));
+            Document explain = sort == null
+                    ? collection.find(filter).explain()
+                    : collection.find(filter).sort(sort).explain();
+            String winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class).toJson();
+
+            assertFalse(winningPlan.contains("COLLSCAN"), "Collection scan for " + filter.toJson() + ": " + winningPlan);
+            assertFalse(winningPlan.contains("\"SORT\""), "In-memory sort for " + filter.toJson() + ": " + winningPlan);
+        }
+    }
+}
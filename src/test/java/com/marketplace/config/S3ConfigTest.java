@@ -0,0 +1,94 @@
+package com.marketplace.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class S3ConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            // Same conversion service Spring Boot installs, so "5s"-style durations bind
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(S3Config.class)
+            .withBean(ClientCounter.class)
+            .withPropertyValues(
+                    "aws.s3.region=us-east-1",
+                    "aws.access.key=test-access-key",
+                    "aws.secret.key=test-secret-key"
+            );
+
+    @Test
+    void testClientsAreBuiltExactlyOnceUnderConcurrentAccess() {
+        contextRunner.run(context -> {
+            // Arrange
+            int threads = 32;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<S3Client>> clients = new ArrayList<>();
+            List<Future<S3Presigner>> presigners = new ArrayList<>();
+
+            // Act
+            for (int i = 0; i < threads * 4; i++) {
+                clients.add(pool.submit(() -> {
+                    start.await();
+                    return context.getBean(S3Client.class);
+                }));
+                presigners.add(pool.submit(() -> {
+                    start.await();
+                    return context.getBean(S3Presigner.class);
+                }));
+            }
+            start.countDown();
+
+            Set<Object> distinctClients = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<S3Client> client : clients) {
+                distinctClients.add(client.get());
+            }
+            Set<Object> distinctPresigners = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<S3Presigner> presigner : presigners) {
+                distinctPresigners.add(presigner.get());
+            }
+            pool.shutdown();
+
+            // Assert
+            ClientCounter counter = context.getBean(ClientCounter.class);
+            assertEquals(1, distinctClients.size());
+            assertEquals(1, distinctPresigners.size());
+            assertEquals(1, counter.s3Clients.get());
+            assertEquals(1, counter.s3Presigners.get());
+        });
+    }
+
+    static class ClientCounter implements BeanPostProcessor {
+        final AtomicInteger s3Clients = new AtomicInteger();
+        final AtomicInteger s3Presigners = new AtomicInteger();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof S3Client) {
+                s3Clients.incrementAndGet();
+            }
+            if (bean instanceof S3Presigner) {
+                s3Presigners.incrementAndGet();
+            }
+            return bean;
+        }
+    }
+}
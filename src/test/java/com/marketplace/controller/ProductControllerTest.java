@@ -0,0 +1,111 @@
+package com.marketplace.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.ProductSummary;
+import com.marketplace.repository.ProductRepository;
+import com.marketplace.service.CatalogSnapshotService;
+import com.marketplace.service.CatalogVersionService;
+import com.marketplace.service.ProductDetailCache;
+import com.marketplace.service.ProductService;
+import com.marketplace.service.StorageService;
+import com.marketplace.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductControllerTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ProductRepository productRepository;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        StorageService storageService = mock(StorageService.class);
+        when(storageService.getFileUrl(anyString())).thenAnswer(invocation -> "/files/" + invocation.getArgument(0));
+
+        ProductService productService = new ProductService(productRepository, storageService, mock(UserService.class),
+                Runnable::run, mock(ProductDetailCache.class), mock(CatalogSnapshotService.class),
+                mock(CatalogVersionService.class));
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProductController(productService, mock(CatalogVersionService.class), objectMapper))
+                .build();
+    }
+
+    @Test
+    void testStreamWritesOneProductPerLineInFeedOrder() throws Exception {
+        // Arrange
+        when(productRepository.streamActiveSummaries(ProductCategory.SAAS, null))
+                .thenReturn(Stream.of(summary("p3", 3), summary("p2", 2), summary("p1", 1)));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/products/stream").param("category", "saas"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // Assert
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.endsWith("\n"));
+        List<String> productIds = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode product = objectMapper.readTree(line);
+            productIds.add(product.get("productId").asText());
+            assertEquals("SAAS", product.get("category").asText());
+        }
+        assertEquals(List.of("p3", "p2", "p1"), productIds);
+    }
+
+    @Test
+    void testStreamWithInvalidCategoryIsEmpty() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/products/stream").param("category", "not-a-category"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        assertEquals("", result.getResponse().getContentAsString());
+        verify(productRepository, never()).streamActiveSummaries(any(), any());
+    }
+
+    private ProductSummary summary(String productId, int minute) {
+        ProductSummary product = new ProductSummary();
+        product.setProductId(productId);
+        product.setName("Startup " + productId);
+        product.setCategory(ProductCategory.SAAS);
+        product.setCreatedAt(BASE_TIME.plusMinutes(minute));
+        product.setImageS3Key("marketplace/" + productId + ".png");
+        product.setActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,50 @@
+package com.marketplace.dto;
+
+import com.marketplace.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+        ProductCursor cursor = new ProductCursor(createdAt, "product|123");
+
+        // Act
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        // Assert
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals("product|123", decoded.getProductId());
+    }
+
+    @Test
+    void testEncodedCursorIsUrlSafe() {
+        // Arrange
+        ProductCursor cursor = new ProductCursor(LocalDateTime.of(2024, 3, 1, 12, 0), "product123");
+
+        // Act
+        String token = cursor.encode();
+
+        // Assert
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testCursorRequiresBothKeys() {
+        // A null key would otherwise be encoded as the literal "null"
+        assertThrows(IllegalArgumentException.class, () -> new ProductCursor(null, "product123"));
+        assertThrows(IllegalArgumentException.class, () -> new ProductCursor(LocalDateTime.of(2024, 3, 1, 12, 0), null));
+    }
+
+    @Test
+    void testDecodeRejectsTamperedCursor() {
+        assertThrows(BadRequestException.class, () -> ProductCursor.decode("not-a-cursor"));
+        assertThrows(BadRequestException.class, () -> ProductCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.marketplace.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// Closed-loop HTTP load: `connections` virtual-thread clients each send requests back to back
+// until `totalRequests` have been sent, recording per-request latency.
+public class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    public LoadResult run(String name, int connections, int totalRequests, IntFunction<HttpRequest> requestFactory)
+            throws InterruptedException {
+        long[] latencies = new long[totalRequests];
+        boolean[] failed = new boolean[totalRequests];
+        long elapsed = drive(connections, totalRequests, requestFactory, latencies, failed);
+        return new LoadResult(name, totalRequests, count(failed, null, -1), elapsed, latencies);
+    }
+
+    private long drive(int connections, int totalRequests, IntFunction<HttpRequest> requestFactory,
+                       long[] latencies, boolean[] failed) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(connections);
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                clients.execute(() -> {
+                    try {
+                        for (int i = next.getAndIncrement(); i < totalRequests; i = next.getAndIncrement()) {
+                            long sent = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(requestFactory.apply(i),
+                                        HttpResponse.BodyHandlers.discarding());
+                                failed[i] = response.statusCode() >= 400;
+                            } catch (Exception e) {
+                                failed[i] = true;
+                            }
+                            latencies[i] = System.nanoTime() - sent;
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Weighted mix of scenarios; returns one result per scenario label plus "all" for the whole run.
+    // Scenario choice per request is seeded, so runs with the same mix send the same sequence.
+    public Map<String, LoadResult> runMix(String name, int connections, int totalRequests, List<Scenario> scenarios,
+                                          long seed) throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(Scenario::getWeight).sum();
+        Random random = new Random(seed);
+        int[] scenarioOf = new int[totalRequests];
+        for (int i = 0; i < totalRequests; i++) {
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while (pick >= scenarios.get(index).getWeight()) {
+                pick -= scenarios.get(index).getWeight();
+                index++;
+            }
+            scenarioOf[i] = index;
+        }
+
+        long[] latencies = new long[totalRequests];
+        boolean[] failed = new boolean[totalRequests];
+        long elapsed = drive(connections, totalRequests, i -> scenarios.get(scenarioOf[i]).getRequestFactory().apply(i),
+                latencies, failed);
+
+        Map<String, LoadResult> results = new LinkedHashMap<>();
+        results.put("all", new LoadResult(name, totalRequests, count(failed, null, -1), elapsed, latencies));
+        for (int s = 0; s < scenarios.size(); s++) {
+            int scenario = s;
+            long[] scenarioLatencies = IntStream.range(0, totalRequests)
+                    .filter(i -> scenarioOf[i] == scenario)
+                    .mapToLong(i -> latencies[i])
+                    .toArray();
+            results.put(scenarios.get(s).getLabel(), new LoadResult(scenarios.get(s).getLabel(),
+                    scenarioLatencies.length, count(failed, scenarioOf, scenario), elapsed, scenarioLatencies));
+        }
+        return results;
+    }
+
+    private static int count(boolean[] failed, int[] scenarioOf, int scenario) {
+        int count = 0;
+        for (int i = 0; i < failed.length; i++) {
+            if (failed[i] && (scenarioOf == null || scenarioOf[i] == scenario)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static HttpRequest get(String url) {
+        return get(url, null);
+    }
+
+    public static HttpRequest get(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    public static HttpRequest postJson(String url, String token, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    public static class Scenario {
+        private final String label;
+        private final int weight;
+        private final IntFunction<HttpRequest> requestFactory;
+
+        public Scenario(String label, int weight, IntFunction<HttpRequest> requestFactory) {
+            this.label = label;
+            this.weight = weight;
+            this.requestFactory = requestFactory;
+        }
+
+        public String getLabel() { return label; }
+        public int getWeight() { return weight; }
+        public IntFunction<HttpRequest> getRequestFactory() { return requestFactory; }
+    }
+}
@@ -0,0 +1,70 @@
+package com.marketplace.load;
+
+import java.util.Arrays;
+
+// Latency/throughput summary of one load run
+public class LoadResult {
+
+    private final String name;
+    private final int requests;
+    private final int errors;
+    private final long elapsedNanos;
+    private final long[] sortedLatenciesNanos;
+
+    public LoadResult(String name, int requests, int errors, long elapsedNanos, long[] latenciesNanos) {
+        this.name = name;
+        this.requests = requests;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedLatenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.sortedLatenciesNanos);
+    }
+
+    public double getThroughput() {
+        return requests / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public double getPercentileMillis(double percentile) {
+        if (sortedLatenciesNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatenciesNanos.length) - 1;
+        return sortedLatenciesNanos[Math.max(0, Math.min(index, sortedLatenciesNanos.length - 1))] / 1_000_000.0;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    // Latency histogram with log-spaced buckets, one line per non-empty bucket
+    public String toHistogramString() {
+        long[] upperBoundsMillis = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+        int[] counts = new int[upperBoundsMillis.length + 1];
+        for (long latency : sortedLatenciesNanos) {
+            int bucket = 0;
+            while (bucket < upperBoundsMillis.length && latency >= upperBoundsMillis[bucket] * 1_000_000) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+
+        StringBuilder histogram = new StringBuilder();
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] == 0) {
+                continue;
+            }
+            String label = bucket < upperBoundsMillis.length
+                    ? String.format("< %5d ms", upperBoundsMillis[bucket])
+                    : String.format(">= %4d ms", upperBoundsMillis[upperBoundsMillis.length - 1]);
+            int bar = (int) Math.round(50.0 * counts[bucket] / sortedLatenciesNanos.length);
+            histogram.append(String.format("  %s %8d  %s%n", label, counts[bucket], "#".repeat(bar)));
+        }
+        return histogram.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s %7d req  %5d err  %9.1f req/s  p50 %8.1f ms  p99 %8.1f ms",
+                name, requests, errors, getThroughput(), getPercentileMillis(50), getPercentileMillis(99));
+    }
+}
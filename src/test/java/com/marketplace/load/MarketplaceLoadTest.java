@@ -0,0 +1,210 @@
+package com.marketplace.load;
+
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.enums.UserRole;
+import com.marketplace.model.Favorite;
+import com.marketplace.model.Offer;
+import com.marketplace.model.Product;
+import com.marketplace.model.User;
+import com.marketplace.security.JwtTokenProvider;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// End-to-end load against the full application context, fully offline: Mongo is an in-process wire-protocol
+// server (mongo-java-server, in-memory backend) and file storage is the local-disk StorageService instead of S3.
+// Volumes and concurrency are system properties, e.g.
+//   mvn test -Pload-test -Dtest=MarketplaceLoadTest -Dload.products=20000 -Dload.connections=500
+// Platform vs virtual request threads are compared by running it twice, with -Dload.virtual=false and =true.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MarketplaceLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 500);
+    private static final int PRODUCTS = Integer.getInteger("load.products", 5000);
+    private static final int OFFERS = Integer.getInteger("load.offers", 10_000);
+    private static final int FAVORITES = Integer.getInteger("load.favorites", 10_000);
+    private static final int CONNECTIONS = Integer.getInteger("load.connections", 200);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final boolean VIRTUAL = Boolean.getBoolean("load.virtual");
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final String[] LOCATIONS = { "New York", "San Francisco", "Austin", "London", "Berlin", "Bangalore" };
+
+    private static MongoServer mongoServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final List<String> userIds = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<String> productIds = new ArrayList<>();
+    private final List<Integer> productSellers = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        mongoServer = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = mongoServer.bind();
+
+        registry.add("spring.data.mongodb.uri",
+                () -> "mongodb://" + address.getHostString() + ":" + address.getPort() + "/marketplace-load");
+        registry.add("spring.data.mongodb.database", () -> "marketplace-load");
+        registry.add("app.jwt.secret", () -> "load-test-secret-load-test-secret-load-test-secret-load-test-secret");
+        registry.add("app.jwt.expiration", () -> "86400000");
+        registry.add("app.storage.type", () -> "local");
+        registry.add("app.storage.local.root", () -> "target/load-storage");
+        // Seeded data is already in the current format
+        registry.add("app.migrations.enabled", () -> "false");
+        registry.add("app.catalog.snapshot.enabled", () -> System.getProperty("load.snapshot", "false"));
+        registry.add("management.server.port", () -> "0");
+        registry.add("spring.threads.virtual.enabled", () -> String.valueOf(VIRTUAL));
+        registry.add("server.tomcat.max-connections", () -> String.valueOf(CONNECTIONS * 2));
+        registry.add("server.tomcat.accept-count", () -> String.valueOf(CONNECTIONS));
+        registry.add("logging.level.com.marketplace", () -> "INFO");
+        registry.add("logging.level.org.springframework.security", () -> "WARN");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        if (mongoServer != null) {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(SEED);
+        ProductCategory[] categories = ProductCategory.values();
+
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String userId = "load-user-" + i;
+            String email = "load-user-" + i + "@example.com";
+            User user = new User(userId, "Load User " + i, email, "unused", "555-0100", UserRole.BOTH,
+                    LOCATIONS[i % LOCATIONS.length]);
+            user.setCreatedAt(BASE_TIME);
+            users.add(user);
+            userIds.add(userId);
+            tokens.add(jwtTokenProvider.generateToken(userId, email));
+        }
+        mongoTemplate.insert(users, User.class);
+
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            int seller = random.nextInt(USERS);
+            String productId = "load-product-" + i;
+            Product product = new Product(productId, userIds.get(seller), "Load User " + seller,
+                    "load-user-" + seller + "@example.com", "Startup " + i, "Seeded listing " + i,
+                    categories[random.nextInt(categories.length)], 10_000.0 + random.nextInt(1_000_000),
+                    50_000.0 + random.nextInt(5_000_000), 1_000.0 + random.nextInt(100_000),
+                    LOCATIONS[random.nextInt(LOCATIONS.length)], "https://example.com/" + i, null,
+                    Collections.emptyList());
+            product.setCreatedAt(BASE_TIME.plusMinutes(i));
+            products.add(product);
+            productIds.add(productId);
+            productSellers.add(seller);
+        }
+        mongoTemplate.insert(products, Product.class);
+
+        List<Offer> offers = new ArrayList<>(OFFERS);
+        for (int i = 0; i < OFFERS; i++) {
+            int product = random.nextInt(PRODUCTS);
+            int seller = productSellers.get(product);
+            int buyer = (seller + 1 + random.nextInt(USERS - 1)) % USERS;
+            Offer offer = new Offer("load-offer-" + i, productIds.get(product), userIds.get(buyer),
+                    "Load User " + buyer, "load-user-" + buyer + "@example.com", userIds.get(seller),
+                    1_000.0 + random.nextInt(100_000), "Seeded offer " + i);
+            offer.setCreatedAt(BASE_TIME.plusMinutes(i));
+            offers.add(offer);
+        }
+        mongoTemplate.insert(offers, Offer.class);
+
+        // (userId, productId) is unique, so walk the pairs instead of sampling them
+        List<Favorite> favorites = new ArrayList<>(FAVORITES);
+        for (int i = 0; i < Math.min(FAVORITES, USERS * PRODUCTS); i++) {
+            Favorite favorite = new Favorite(userIds.get(i % USERS), productIds.get((i / USERS + i) % PRODUCTS));
+            favorite.setAddedAt(BASE_TIME.plusMinutes(i));
+            favorites.add(favorite);
+        }
+        mongoTemplate.insert(favorites, Favorite.class);
+    }
+
+    @Test
+    void testMixedTrafficRunsWithoutErrors() throws Exception {
+        // Arrange
+        String api = "http://localhost:" + port + "/api";
+        ProductCategory[] categories = ProductCategory.values();
+        LoadDriver driver = new LoadDriver();
+
+        // Roughly browse-heavy: most requests read the catalog, a few write
+        List<LoadDriver.Scenario> mix = List.of(
+                new LoadDriver.Scenario("GET products", 30,
+                        i -> LoadDriver.get(api + "/products")),
+                new LoadDriver.Scenario("GET products?category", 15,
+                        i -> LoadDriver.get(api + "/products?category=" + categories[i % categories.length].name())),
+                new LoadDriver.Scenario("GET products/{id}", 20,
+                        i -> LoadDriver.get(api + "/products/" + productIds.get(i % PRODUCTS))),
+                new LoadDriver.Scenario("GET categories", 5,
+                        i -> LoadDriver.get(api + "/categories")),
+                new LoadDriver.Scenario("GET offers/received", 8,
+                        i -> LoadDriver.get(api + "/offers/received", tokens.get(i % USERS))),
+                new LoadDriver.Scenario("GET offers/sent", 7,
+                        i -> LoadDriver.get(api + "/offers/sent", tokens.get(i % USERS))),
+                new LoadDriver.Scenario("GET favorites", 10,
+                        i -> LoadDriver.get(api + "/favorites", tokens.get(i % USERS))),
+                new LoadDriver.Scenario("POST offers", 5,
+                        i -> createOffer(api, i))
+        );
+
+        // Act
+        driver.runMix("warmup", CONNECTIONS, Math.max(CONNECTIONS * 5, REQUESTS / 10), mix, SEED + 1);
+        Map<String, LoadResult> results = driver.runMix("mixed", CONNECTIONS, REQUESTS, mix, SEED);
+
+        System.out.printf("%d users, %d products, %d offers, %d favorites; %d connections, %s threads%n",
+                USERS, PRODUCTS, OFFERS, FAVORITES, CONNECTIONS, VIRTUAL ? "virtual" : "platform");
+        results.values().forEach(System.out::println);
+        System.out.println("Latency histogram (all requests):");
+        System.out.print(results.get("all").toHistogramString());
+
+        // Assert
+        results.forEach((label, result) -> assertEquals(0, result.getErrors(), label));
+    }
+
+    private HttpRequest createOffer(String api, int i) {
+        int product = i % PRODUCTS;
+        // Anyone but the seller may bid
+        int buyer = (productSellers.get(product) + 1 + i % (USERS - 1)) % USERS;
+        String json = "{\"productId\":\"" + productIds.get(product) + "\",\"amount\":" + (1_000 + i)
+                + ",\"message\":\"Load offer " + i + "\"}";
+        return LoadDriver.postJson(api + "/offers", tokens.get(buyer), json);
+    }
+}
@@ -0,0 +1,89 @@
+package com.marketplace.migration;
+
+import com.marketplace.model.DocumentInfo;
+import com.marketplace.model.Product;
+import com.marketplace.repository.OfferRepository;
+import com.marketplace.repository.OfferRepositoryCustomImpl;
+import com.marketplace.repository.ProductRepository;
+import com.marketplace.repository.ProductRepositoryCustomImpl;
+import com.marketplace.service.OfferService;
+import com.marketplace.service.UserService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LegacyProductDocumentsListenerTest {
+
+    private static final String LEGACY_DOCUMENTS = "[{\"id\":\"d1\",\"fileName\":\"deck.pdf\","
+            + "\"s3Key\":\"marketplace/d1.pdf\",\"contentType\":\"application/pdf\",\"fileSize\":2048}]";
+
+    @Test
+    void testUnmigratedRowsReadThroughRepositoryAndOfferService() {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        try (MongoClient client = MongoClients.create(mongoServer.bindAndGetConnectionString());
+             GenericApplicationContext context = new GenericApplicationContext()) {
+            // Arrange
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "marketplace_migration_test");
+            context.registerBean(LegacyProductDocumentsListener.class,
+                    () -> new LegacyProductDocumentsListener(mongoTemplate.getConverter()));
+            context.refresh();
+            mongoTemplate.setApplicationContext(context);
+
+            MongoCollection<Document> products = mongoTemplate.getCollection("products");
+            products.insertMany(List.of(
+                    product("p1").append("documents", LEGACY_DOCUMENTS),
+                    product("p2").append("documents", "not json"),
+                    product("p3").append("documents", List.of(new Document("_id", "d3").append("fileName", "model.xlsx")))));
+
+            MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+            ProductRepository productRepository = factory.getRepository(ProductRepository.class,
+                    RepositoryFragments.just(new ProductRepositoryCustomImpl(mongoTemplate)));
+            OfferRepository offerRepository = factory.getRepository(OfferRepository.class,
+                    RepositoryFragments.just(new OfferRepositoryCustomImpl(mongoTemplate)));
+            OfferService offerService = new OfferService(offerRepository, productRepository, mock(UserService.class));
+
+            // Act
+            Product legacy = productRepository.findByProductIdAndIsActiveTrue("p1").orElseThrow();
+            Product unparseable = productRepository.findByProductIdAndIsActiveTrue("p2").orElseThrow();
+            Product migrated = productRepository.findByProductIdAndIsActiveTrue("p3").orElseThrow();
+            Map<String, Object> offers = offerService.getOffersForProduct("p1", "seller-1");
+
+            // Assert
+            DocumentInfo document = legacy.getDocuments().get(0);
+            assertEquals("d1", document.getId());
+            assertEquals("deck.pdf", document.getFileName());
+            assertEquals("marketplace/d1.pdf", document.getS3Key());
+            assertEquals(2048L, document.getFileSize());
+            assertTrue(unparseable.getDocuments().isEmpty());
+            assertEquals("model.xlsx", migrated.getDocuments().get(0).getFileName());
+            assertNotNull(offers);
+
+            // The stored rows are left for the migration
+            assertEquals(LEGACY_DOCUMENTS, products.find(new Document("_id", "p1")).first().getString("documents"));
+        } finally {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    private Document product(String productId) {
+        return new Document("_id", productId)
+                .append("productId", productId)
+                .append("sellerId", "seller-1")
+                .append("name", "Startup " + productId)
+                .append("isActive", true);
+    }
+}
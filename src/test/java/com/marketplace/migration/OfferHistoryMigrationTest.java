@@ -0,0 +1,110 @@
+package com.marketplace.migration;
+
+import com.marketplace.enums.OfferAction;
+import com.marketplace.model.Offer;
+import com.marketplace.model.OfferHistoryEntry;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfferHistoryMigrationTest {
+
+    private static final Date T1 = new Date(1_704_067_200_000L);
+    private static final Date T2 = new Date(1_704_070_800_000L);
+
+    @Test
+    void testRewritesLegacyEntriesAndLeavesCompactOnesAlone() {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        try (MongoClient client = MongoClients.create(mongoServer.bindAndGetConnectionString())) {
+            // Arrange
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "marketplace_migration_test");
+            MongoCollection<Document> offers = mongoTemplate.getCollection("offers");
+            offers.insertMany(List.of(
+                    // Old layout only, one entry without amount or message
+                    new Document("_id", "o1").append("offerId", "o1").append("history", List.of(
+                            new Document("action", "countered").append("timestamp", T1).append("by", "seller-1")
+                                    .append("amount", 900.0).append("message", "Meet me halfway"),
+                            new Document("action", "counter_accepted").append("timestamp", T2).append("by", "buyer-1"))),
+                    // Written after the layout change
+                    new Document("_id", "o2").append("offerId", "o2").append("history", List.of(
+                            new Document("a", "ACCEPTED").append("t", T1).append("b", "seller-2"))),
+                    // Both layouts in one array
+                    new Document("_id", "o3").append("offerId", "o3").append("history", List.of(
+                            new Document("a", "COUNTERED").append("t", T1).append("b", "seller-3").append("amt", 500.0),
+                            new Document("action", "rejected").append("timestamp", T2).append("by", "buyer-3"))),
+                    // No transitions yet
+                    new Document("_id", "o4").append("offerId", "o4").append("history", List.of())));
+            Document compactBefore = offers.find(new Document("_id", "o2")).first();
+            OfferHistoryMigration migration = new OfferHistoryMigration(mongoTemplate);
+
+            // Act
+            migration.migrate();
+
+            // Assert
+            List<Document> o1 = history(offers, "o1");
+            assertEquals(new Document("a", "COUNTERED").append("t", T1).append("b", "seller-1")
+                    .append("amt", 900.0).append("m", "Meet me halfway"), o1.get(0));
+            assertEquals(new Document("a", "COUNTER_ACCEPTED").append("t", T2).append("b", "buyer-1"), o1.get(1));
+
+            assertEquals(compactBefore, offers.find(new Document("_id", "o2")).first());
+
+            List<Document> o3 = history(offers, "o3");
+            assertEquals(new Document("a", "COUNTERED").append("t", T1).append("b", "seller-3").append("amt", 500.0),
+                    o3.get(0));
+            assertEquals(new Document("a", "REJECTED").append("t", T2).append("b", "buyer-3"), o3.get(1));
+
+            assertTrue(history(offers, "o4").isEmpty());
+            assertEquals(0, offers.countDocuments(OfferHistoryMigration.legacyFilter()));
+
+            // Rewritten entries map onto OfferHistoryEntry
+            List<OfferHistoryEntry> entries = mongoTemplate.findById("o1", Offer.class).getHistory();
+            assertEquals(OfferAction.COUNTER_ACCEPTED, entries.get(1).getAction());
+            assertEquals("buyer-1", entries.get(1).getBy());
+            assertEquals(900.0, entries.get(0).getAmount());
+        } finally {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSecondRunChangesNothing() {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        try (MongoClient client = MongoClients.create(mongoServer.bindAndGetConnectionString())) {
+            // Arrange
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "marketplace_migration_test");
+            MongoCollection<Document> offers = mongoTemplate.getCollection("offers");
+            offers.insertMany(List.of(
+                    new Document("_id", "o1").append("offerId", "o1").append("history", List.of(
+                            new Document("action", "accepted").append("timestamp", T1).append("by", "seller-1"))),
+                    new Document("_id", "o2").append("offerId", "o2").append("history", List.of(
+                            new Document("a", "REJECTED").append("t", T1).append("b", "seller-2")))));
+            OfferHistoryMigration migration = new OfferHistoryMigration(mongoTemplate);
+            migration.migrate();
+            List<Document> afterFirstRun = offers.find().sort(new Document("_id", 1)).into(new ArrayList<>());
+
+            // Act
+            migration.migrate();
+
+            // Assert
+            assertEquals(0, offers.countDocuments(OfferHistoryMigration.legacyFilter()));
+            assertEquals(afterFirstRun, offers.find().sort(new Document("_id", 1)).into(new ArrayList<>()));
+        } finally {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    private List<Document> history(MongoCollection<Document> offers, String offerId) {
+        return offers.find(new Document("_id", offerId)).first().getList("history", Document.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.marketplace.migration;
+
+import com.marketplace.model.DocumentInfo;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDocumentsMigrationTest {
+
+    @Test
+    void testParseLegacyJsonString() throws Exception {
+        // Arrange
+        String raw = "[{\"id\":\"d1\",\"fileName\":\"deck.pdf\",\"s3Key\":\"marketplace/d1.pdf\","
+                + "\"contentType\":\"application/pdf\",\"fileSize\":2048}]";
+
+        // Act
+        List<DocumentInfo> documents = ProductDocumentsMigration.parse(raw);
+
+        // Assert
+        assertEquals(1, documents.size());
+        assertEquals("deck.pdf", documents.get(0).getFileName());
+        assertEquals("marketplace/d1.pdf", documents.get(0).getS3Key());
+        assertEquals(2048L, documents.get(0).getFileSize());
+    }
+
+    @Test
+    void testParseBlankOrNullJsonIsEmpty() throws Exception {
+        assertTrue(ProductDocumentsMigration.parse("").isEmpty());
+        assertTrue(ProductDocumentsMigration.parse("null").isEmpty());
+    }
+
+    @Test
+    void testParseRejectsMalformedJson() {
+        assertThrows(Exception.class, () -> ProductDocumentsMigration.parse("[{\"fileName\":"));
+    }
+
+    @Test
+    void testBatchesResumeAfterLastIdAndMoveUnparseableRows() {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        try (MongoClient client = MongoClients.create(mongoServer.bindAndGetConnectionString())) {
+            // Arrange
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "marketplace_migration_test");
+            MongoCollection<Document> products = mongoTemplate.getCollection("products");
+            String valid = "[{\"id\":\"d1\",\"fileName\":\"deck.pdf\",\"s3Key\":\"marketplace/d1.pdf\"}]";
+            products.insertMany(List.of(
+                    new Document("_id", "p1").append("documents", valid),
+                    new Document("_id", "p2").append("documents", "not json"),
+                    new Document("_id", "p3").append("documents", valid),
+                    new Document("_id", "p4").append("documents", List.of()),
+                    new Document("_id", "p5").append("documents", valid)));
+
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            ProductDocumentsMigration migration = new ProductDocumentsMigration(mongoTemplate, meterRegistry);
+            ReflectionTestUtils.setField(migration, "batchSize", 2);
+
+            // Act: first batch
+            migration.migrateBatch();
+
+            // Assert: p1 and p2 rewritten, the rest untouched
+            assertEquals(List.of("p3", "p5"), legacyIds(products));
+            assertEquals(2.0, meterRegistry.get("migration.product.documents.remaining").gauge().value());
+            Document p1 = products.find(new Document("_id", "p1")).first();
+            assertEquals("deck.pdf", p1.getList("documents", Document.class).get(0).getString("fileName"));
+            Document p2 = products.find(new Document("_id", "p2")).first();
+            assertEquals("not json", p2.getString("legacyDocuments"));
+            assertTrue(p2.getList("documents", Object.class).isEmpty());
+
+            // A legacy row sorting before the last processed _id is behind the cursor, so this run skips it
+            products.insertOne(new Document("_id", "p0").append("documents", valid));
+
+            // Act: second batch continues after p2, then an empty batch finishes the run
+            migration.migrateBatch();
+            migration.migrateBatch();
+
+            // Assert
+            assertEquals(List.of("p0"), legacyIds(products));
+            assertTrue(migration.isCompleted());
+            assertEquals(3.0, meterRegistry.get("migration.product.documents").tag("result", "migrated")
+                    .functionCounter().count());
+            assertEquals(1.0, meterRegistry.get("migration.product.documents").tag("result", "failed")
+                    .functionCounter().count());
+            assertEquals(0.0, meterRegistry.get("migration.product.documents.remaining").gauge().value());
+        } finally {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    private List<String> legacyIds(MongoCollection<Document> products) {
+        return products.find(new Document("documents", new Document("$type", "string")))
+                .sort(new Document("_id", 1))
+                .map(row -> row.getString("_id"))
+                .into(new ArrayList<>());
+    }
+}
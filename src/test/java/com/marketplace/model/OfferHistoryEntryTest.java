@@ -0,0 +1,94 @@
+package com.marketplace.model;
+
+import com.marketplace.enums.OfferAction;
+import com.marketplace.enums.OfferStatus;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfferHistoryEntryTest {
+
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(Collections.emptyList());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @Test
+    void testCompactHistoryIsSmallerThanLegacyLayout() {
+        // Arrange
+        Offer offer = new Offer("offer123", "product123", "buyer123", "John Buyer",
+                "buyer@test.com", "seller123", 1000.0, null);
+        offer.setStatus(OfferStatus.COUNTER_ACCEPTED);
+        offer.setHistory(List.of(
+                new OfferHistoryEntry(OfferAction.COUNTERED, "seller123", 1200.0, "How about this price?"),
+                new OfferHistoryEntry(OfferAction.COUNTER_ACCEPTED, "buyer123", null, "Deal")));
+
+        Document compact = new Document();
+        converter.write(offer, compact);
+
+        Document legacy = new Document(compact);
+        List<Document> legacyHistory = new ArrayList<>();
+        legacyHistory.add(new Document("action", "countered").append("amount", 1200.0)
+                .append("message", "How about this price?").append("timestamp", new Date()).append("by", "seller123"));
+        legacyHistory.add(new Document("action", "counter_accepted").append("message", "Deal")
+                .append("timestamp", new Date()).append("by", "buyer123"));
+        legacy.put("history", legacyHistory);
+
+        // Act
+        int compactSize = bsonSize(compact);
+        int legacySize = bsonSize(legacy);
+
+        // Assert
+        assertTrue(compactSize < legacySize, "compact " + compactSize + " bytes vs legacy " + legacySize + " bytes");
+    }
+
+    @Test
+    void testHistoryRoundTrips() {
+        // Arrange
+        Offer offer = new Offer();
+        offer.setOfferId("offer123");
+        offer.setHistory(List.of(new OfferHistoryEntry(OfferAction.COUNTERED, "seller123", 1200.0, "Counter")));
+        Document document = new Document();
+        converter.write(offer, document);
+
+        // Act
+        Offer read = converter.read(Offer.class, document);
+
+        // Assert
+        Document entry = document.getList("history", Document.class).get(0);
+        assertEquals("COUNTERED", entry.get("a"));
+        assertEquals(1200.0, entry.get("amt"));
+        OfferHistoryEntry readEntry = read.getHistory().get(0);
+        assertEquals(OfferAction.COUNTERED, readEntry.getAction());
+        assertEquals("seller123", readEntry.getBy());
+        assertEquals(1200.0, readEntry.getAmount());
+        assertEquals("Counter", readEntry.getMessage());
+        assertNotNull(readEntry.getTimestamp());
+    }
+
+    private int bsonSize(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+    }
+}
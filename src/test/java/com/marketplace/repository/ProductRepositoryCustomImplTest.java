@@ -0,0 +1,70 @@
+package com.marketplace.repository;
+
+import com.marketplace.dto.ProductCursor;
+import com.marketplace.model.ProductSummary;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductRepositoryCustomImplTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void testFeedLeavesOutRowsWithoutCursorKeys() {
+        MongoServer mongoServer = new MongoServer(new MemoryBackend());
+        try (MongoClient client = MongoClients.create(mongoServer.bindAndGetConnectionString())) {
+            // Arrange
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "marketplace_feed_test");
+            mongoTemplate.getCollection("products").insertMany(List.of(
+                    product("p1", 1),
+                    product("p2", 2),
+                    product("p3", 3),
+                    // Written before createdAt was stamped
+                    new Document("_id", "legacy-1").append("productId", "p4").append("isActive", true),
+                    // Written before productId existed
+                    new Document("_id", "legacy-2").append("createdAt", date(4)).append("isActive", true)));
+            ProductRepositoryCustomImpl repository = new ProductRepositoryCustomImpl(mongoTemplate);
+
+            // Act
+            List<ProductSummary> firstPage = repository.findActiveSummaries(null, null, null, 2);
+            ProductSummary last = firstPage.get(firstPage.size() - 1);
+            List<ProductSummary> secondPage = repository.findActiveSummaries(null, null,
+                    new ProductCursor(last.getCreatedAt(), last.getProductId()), 2);
+
+            // Assert
+            assertEquals(List.of("p3", "p2"), ids(firstPage));
+            assertEquals(List.of("p1"), ids(secondPage));
+            assertEquals(List.of("p3", "p2", "p1"), ids(repository.streamActiveSummaries(null, null).toList()));
+        } finally {
+            mongoServer.shutdownNow();
+        }
+    }
+
+    private Document product(String productId, int minute) {
+        return new Document("_id", productId)
+                .append("productId", productId)
+                .append("isActive", true)
+                .append("createdAt", date(minute));
+    }
+
+    private Date date(int minute) {
+        return Date.from(BASE_TIME.plusMinutes(minute).toInstant(ZoneOffset.UTC));
+    }
+
+    private List<String> ids(List<ProductSummary> products) {
+        return products.stream().map(ProductSummary::getProductId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+package com.marketplace.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtTokenProvider tokenProvider;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = mock(JwtTokenProvider.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(tokenProvider, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testValidTokenIsTimedAsAuthenticated() throws Exception {
+        // Arrange
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("user-1");
+        when(claims.get("email", String.class)).thenReturn("user@example.com");
+        when(tokenProvider.parseToken("good-token")).thenReturn(Optional.of(claims));
+
+        // Act
+        filter.doFilter(requestWithToken("good-token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, count("AUTHENTICATED"));
+        assertEquals(0, count("INVALID"));
+    }
+
+    @Test
+    void testRejectedTokenIsTimedAsInvalid() throws Exception {
+        // Arrange
+        when(tokenProvider.parseToken("bad-token")).thenReturn(Optional.empty());
+
+        // Act
+        filter.doFilter(requestWithToken("bad-token"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, count("INVALID"));
+    }
+
+    @Test
+    void testRequestWithoutTokenIsTimedAsAnonymous() throws Exception {
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Assert
+        assertEquals(1, count("ANONYMOUS"));
+        verifyNoInteractions(tokenProvider);
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/offers/received");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private long count(String outcome) {
+        return meterRegistry.get(JwtAuthenticationFilter.AUTHENTICATION_TIMER).tag("outcome", outcome).timer().count();
+    }
+}
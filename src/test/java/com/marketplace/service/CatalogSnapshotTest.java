@@ -0,0 +1,190 @@
+package com.marketplace.service;
+
+import com.marketplace.dto.ProductCursor;
+import com.marketplace.enums.ProductCategory;
+import com.marketplace.model.ProductSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        List<ProductSummary> products = new ArrayList<>();
+        products.add(product("p1", 1, ProductCategory.SAAS, "New York"));
+        products.add(product("p2", 2, ProductCategory.FINTECH, "Los Angeles"));
+        products.add(product("p3", 3, ProductCategory.SAAS, "Los Angeles"));
+        products.add(product("p4", 4, ProductCategory.SAAS, "new york city"));
+        // Same createdAt as p4, so productId decides the order
+        products.add(product("p5", 4, ProductCategory.FINTECH, "Boston"));
+        snapshot = CatalogSnapshot.of(products);
+    }
+
+    @Test
+    void testPageReturnsFeedOrder() {
+        // Act
+        List<ProductSummary> page = snapshot.page(null, null, null, 10);
+
+        // Assert
+        assertEquals(List.of("p5", "p4", "p3", "p2", "p1"), ids(page));
+    }
+
+    @Test
+    void testCursorContinuesAfterLastProduct() {
+        // Arrange
+        List<ProductSummary> firstPage = snapshot.page(null, null, null, 2);
+        ProductSummary last = firstPage.get(firstPage.size() - 1);
+
+        // Act
+        List<ProductSummary> secondPage = snapshot.page(null, null, new ProductCursor(last.getCreatedAt(), last.getProductId()), 2);
+
+        // Assert
+        assertEquals(List.of("p5", "p4"), ids(firstPage));
+        assertEquals(List.of("p3", "p2"), ids(secondPage));
+    }
+
+    @Test
+    void testCategoryAndLocationFiltersCombine() {
+        // Act
+        List<ProductSummary> page = snapshot.page(ProductCategory.SAAS, "NEW YORK", null, 10);
+
+        // Assert
+        assertEquals(List.of("p4", "p1"), ids(page));
+    }
+
+    @Test
+    void testCategoryFilterWithCursor() {
+        // Act: the cursor lands on a SAAS product, on a FINTECH product, and past the last SAAS product
+        List<ProductSummary> afterMember = snapshot.page(ProductCategory.SAAS, null,
+                new ProductCursor(BASE_TIME.plusMinutes(4), "p4"), 10);
+        List<ProductSummary> afterOther = snapshot.page(ProductCategory.SAAS, null,
+                new ProductCursor(BASE_TIME.plusMinutes(4), "p5"), 1);
+        List<ProductSummary> afterLast = snapshot.page(ProductCategory.SAAS, null,
+                new ProductCursor(BASE_TIME.plusMinutes(1), "p1"), 10);
+        List<ProductSummary> withLocation = snapshot.page(ProductCategory.SAAS, "york",
+                new ProductCursor(BASE_TIME.plusMinutes(3), "p3"), 10);
+
+        // Assert
+        assertEquals(List.of("p3", "p1"), ids(afterMember));
+        assertEquals(List.of("p4"), ids(afterOther));
+        assertTrue(afterLast.isEmpty());
+        assertEquals(List.of("p1"), ids(withLocation));
+    }
+
+    @Test
+    void testLocationFilterWithCursor() {
+        // Act
+        List<ProductSummary> page = snapshot.page(null, "los angeles", new ProductCursor(BASE_TIME.plusMinutes(3), "p3"), 10);
+
+        // Assert
+        assertEquals(List.of("p2"), ids(page));
+    }
+
+    @Test
+    void testWithProductsAddsNewAndSkipsExisting() {
+        // Arrange
+        ProductSummary alreadyPresent = product("p4", 4, ProductCategory.GAMING, "Austin");
+        ProductSummary added = product("p6", 6, ProductCategory.GAMING, "Austin");
+
+        // Act
+        CatalogSnapshot refreshed = snapshot.withProducts(List.of(alreadyPresent, added));
+
+        // Assert
+        assertEquals(6, refreshed.size());
+        assertEquals(List.of("p6", "p5", "p4"), ids(refreshed.page(null, null, null, 3)));
+        // p4 keeps its original category until the next full rebuild
+        assertEquals(List.of("p6"), ids(refreshed.page(ProductCategory.GAMING, null, null, 10)));
+        assertEquals(BASE_TIME.plusMinutes(6), refreshed.getLatestCreatedAt());
+        // The original snapshot is untouched
+        assertEquals(5, snapshot.size());
+    }
+
+    @Test
+    void testRowsWithoutFeedKeysAreLeftOut() {
+        // Arrange
+        ProductSummary noCreatedAt = product("p0", 0, ProductCategory.SAAS, "Austin");
+        noCreatedAt.setCreatedAt(null);
+        ProductSummary noProductId = product(null, 5, ProductCategory.SAAS, "Austin");
+        List<ProductSummary> all = new ArrayList<>(snapshot.getProducts());
+        all.add(noCreatedAt);
+        all.add(noProductId);
+
+        // Act
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(all);
+        CatalogSnapshot merged = snapshot.withProducts(List.of(noCreatedAt, noProductId));
+
+        // Assert: every row that is served can be turned into a cursor
+        assertEquals(5, rebuilt.size());
+        assertSame(snapshot, merged);
+        for (ProductSummary product : rebuilt.page(null, null, null, 10)) {
+            assertNotNull(new ProductCursor(product.getCreatedAt(), product.getProductId()).encode());
+        }
+    }
+
+    @Test
+    void testUnchangedPollReturnsSameSnapshot() {
+        // Arrange: the createdAt >= latest poll always returns the current newest listings again
+        List<ProductSummary> poll = List.of(product("p4", 4, ProductCategory.SAAS, "new york city"),
+                product("p5", 4, ProductCategory.FINTECH, "Boston"));
+
+        // Act
+        CatalogSnapshot refreshed = snapshot.withProducts(poll);
+
+        // Assert
+        assertSame(snapshot, refreshed);
+        assertSame(snapshot, snapshot.withProducts(List.of()));
+    }
+
+    @Test
+    void testMergedSnapshotMatchesFullRebuild() {
+        // Arrange: one product newer than everything, one between existing ones, one older than everything
+        List<ProductSummary> added = List.of(
+                product("p7", 7, ProductCategory.SAAS, "Boston"),
+                product("p3a", 3, ProductCategory.FINTECH, "New York"),
+                product("p0", 0, ProductCategory.GAMING, "Austin"));
+        List<ProductSummary> all = new ArrayList<>(snapshot.getProducts());
+        all.addAll(added);
+        CatalogSnapshot rebuilt = CatalogSnapshot.of(all);
+
+        // Act
+        CatalogSnapshot merged = snapshot.withProducts(added);
+
+        // Assert
+        assertEquals(ids(rebuilt.page(null, null, null, 20)), ids(merged.page(null, null, null, 20)));
+        for (ProductCategory category : ProductCategory.values()) {
+            assertEquals(ids(rebuilt.page(category, null, null, 20)), ids(merged.page(category, null, null, 20)));
+            assertEquals(ids(rebuilt.page(category, "york", null, 20)), ids(merged.page(category, "york", null, 20)));
+        }
+        for (String location : List.of("new york", "boston", "austin", "los angeles")) {
+            assertEquals(ids(rebuilt.page(null, location, null, 20)), ids(merged.page(null, location, null, 20)));
+        }
+        ProductCursor cursor = new ProductCursor(BASE_TIME.plusMinutes(3), "p3a");
+        assertEquals(ids(rebuilt.page(null, null, cursor, 20)), ids(merged.page(null, null, cursor, 20)));
+        assertEquals(BASE_TIME.plusMinutes(7), merged.getLatestCreatedAt());
+    }
+
+    private ProductSummary product(String productId, int minute, ProductCategory category, String location) {
+        ProductSummary product = new ProductSummary();
+        product.setProductId(productId);
+        product.setCreatedAt(BASE_TIME.plusMinutes(minute));
+        product.setCategory(category);
+        product.setLocation(location);
+        product.setActive(true);
+        return product;
+    }
+
+    private List<String> ids(List<ProductSummary> products) {
+        return products.stream().map(ProductSummary::getProductId).collect(Collectors.toList());
+    }
+}
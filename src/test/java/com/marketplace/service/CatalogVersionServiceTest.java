@@ -0,0 +1,87 @@
+package com.marketplace.service;
+
+import com.marketplace.model.ProductSummary;
+import com.marketplace.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogVersionServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private CatalogVersionService catalogVersionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(storageService.getUrlLifetime()).thenReturn(Duration.ofHours(12));
+        catalogVersionService = new CatalogVersionService(productRepository, storageService, catalogSnapshotService);
+    }
+
+    @Test
+    void testNoETagBeforeFirstRefresh() {
+        assertNull(catalogVersionService.getETag());
+    }
+
+    @Test
+    void testETagIsStableUntilCatalogChanges() {
+        // Arrange
+        when(productRepository.countByIsActiveTrue()).thenReturn(10L);
+        when(productRepository.findFirstSummaryByIsActiveTrueOrderByCreatedAtDesc())
+                .thenReturn(Optional.of(summary(LocalDateTime.of(2024, 1, 1, 12, 0))));
+        catalogVersionService.refresh();
+        String first = catalogVersionService.getETag();
+
+        // Act
+        catalogVersionService.refresh();
+        String unchanged = catalogVersionService.getETag();
+        when(productRepository.countByIsActiveTrue()).thenReturn(11L);
+        catalogVersionService.refresh();
+        String changed = catalogVersionService.getETag();
+
+        // Assert
+        assertNotNull(first);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+        assertEquals(first, unchanged);
+        assertNotEquals(first, changed);
+    }
+
+    @Test
+    void testSnapshotVersionIsUsedWhenEnabled() {
+        // Arrange
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(summary(LocalDateTime.of(2024, 1, 1, 12, 0))));
+        when(catalogSnapshotService.getSnapshot()).thenReturn(snapshot);
+
+        // Act
+        String etag = catalogVersionService.getETag();
+
+        // Assert
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"1-"));
+        verifyNoInteractions(productRepository);
+    }
+
+    private ProductSummary summary(LocalDateTime createdAt) {
+        ProductSummary summary = new ProductSummary();
+        summary.setProductId("p1");
+        summary.setCreatedAt(createdAt);
+        return summary;
+    }
+}
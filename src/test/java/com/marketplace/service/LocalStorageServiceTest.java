@@ -0,0 +1,78 @@
+package com.marketplace.service;
+
+import com.marketplace.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path root;
+    private LocalStorageService storage;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        root = tempDir.resolve("storage");
+        storage = new LocalStorageService();
+        ReflectionTestUtils.setField(storage, "rootDirectory", root.toString());
+        ReflectionTestUtils.setField(storage, "baseUrl", "/api/files");
+        storage.init();
+    }
+
+    @Test
+    void testUploadThenOpenReturnsSameBytes() throws Exception {
+        // Arrange
+        byte[] content = "pitch deck".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        String key = storage.uploadFile(new ByteArrayInputStream(content), content.length, "deck.pdf", "application/pdf");
+
+        // Assert
+        assertTrue(key.endsWith(".pdf"));
+        assertEquals("/api/files/" + key, storage.getFileUrl(key));
+        try (InputStream stored = storage.openFile(key)) {
+            assertArrayEquals(content, stored.readAllBytes());
+        }
+    }
+
+    @Test
+    void testShortStreamFailsAndLeavesNoFile() throws Exception {
+        // Arrange
+        byte[] content = "only ten b".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> storage.uploadFile(new ByteArrayInputStream(content), content.length + 5, "deck.pdf", "application/pdf"));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("Expected 15 bytes but received 10"));
+        try (Stream<Path> files = Files.walk(root)) {
+            assertTrue(files.noneMatch(Files::isRegularFile));
+        }
+    }
+
+    @Test
+    void testKeyOutsideRootIsRejected() throws Exception {
+        // Arrange
+        Path outside = Files.writeString(tempDir.resolve("secret.txt"), "secret");
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> storage.openFile("../secret.txt"));
+        assertThrows(BadRequestException.class, () -> storage.openFile("marketplace/../../secret.txt"));
+        assertThrows(BadRequestException.class, () -> storage.deleteFile("../secret.txt"));
+        assertTrue(Files.exists(outside));
+    }
+}
@@ -0,0 +1,138 @@
+package com.marketplace.service;
+
+import com.marketplace.dto.CounterOfferRequest;
+import com.marketplace.enums.OfferAction;
+import com.marketplace.enums.OfferStatus;
+import com.marketplace.enums.UserRole;
+import com.marketplace.model.Offer;
+import com.marketplace.model.User;
+import com.marketplace.repository.OfferRepository;
+import com.marketplace.repository.OfferRepositoryCustomImpl;
+import com.marketplace.repository.ProductRepository;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Races accept/reject/counter on one offer through the real OfferRepository (findAndModify in updateIfStatus)
+// against an in-process MongoDB, so the status/actor criteria are what decide the winner
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OfferServiceConcurrencyTest {
+
+    private MongoServer mongoServer;
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private OfferRepository offerRepository;
+    private OfferService offerService;
+
+    @BeforeAll
+    void setUp() {
+        mongoServer = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(mongoServer.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "marketplace_offer_test");
+
+        offerRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(OfferRepository.class, RepositoryFragments.just(new OfferRepositoryCustomImpl(mongoTemplate)));
+
+        UserService userService = mock(UserService.class);
+        when(userService.findByUserId("seller123")).thenReturn(
+                new User("seller123", "Jane Seller", "seller@test.com", "password", "9876543210", UserRole.SELLER, "Los Angeles"));
+        when(userService.findByUserId("buyer123")).thenReturn(
+                new User("buyer123", "John Buyer", "buyer@test.com", "password", "1234567890", UserRole.BUYER, "New York"));
+
+        offerService = new OfferService(offerRepository, mock(ProductRepository.class), userService);
+        ReflectionTestUtils.setField(offerService, "historyMaxEntries", 50);
+    }
+
+    @AfterAll
+    void tearDown() {
+        client.close();
+        mongoServer.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentTransitionsOnlyOneWins() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            // Arrange
+            String offerId = "offer-" + round;
+            mongoTemplate.insert(new Offer(offerId, "product123", "buyer123", "John Buyer", "buyer@test.com",
+                    "seller123", 1000.0, null));
+
+            int threads = 24;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int action = i % 4;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    if (action == 0) {
+                        return offerService.acceptOffer(offerId, "seller123");
+                    }
+                    if (action == 1) {
+                        return offerService.rejectOffer(offerId, "seller123");
+                    }
+                    if (action == 2) {
+                        // Wrong actor: must never win, even while the offer is still pending
+                        return offerService.acceptOffer(offerId, "buyer123");
+                    }
+                    CounterOfferRequest request = new CounterOfferRequest();
+                    request.setAmount(1200.0);
+                    return offerService.counterOffer(offerId, request, "seller123");
+                }));
+            }
+
+            // Act
+            start.countDown();
+            int succeeded = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertNotNull(e.getCause().getMessage());
+                }
+            }
+            pool.shutdown();
+
+            // Assert
+            Offer stored = offerRepository.findByOfferId(offerId).orElseThrow();
+            assertEquals(1, succeeded);
+            assertNotEquals(OfferStatus.PENDING, stored.getStatus());
+            assertEquals(1, stored.getHistory().size());
+            OfferAction action = stored.getHistory().get(0).getAction();
+            assertEquals(expectedAction(stored.getStatus()), action);
+            assertEquals("seller123", stored.getHistory().get(0).getBy());
+        }
+    }
+
+    private OfferAction expectedAction(OfferStatus status) {
+        switch (status) {
+            case ACCEPTED:
+                return OfferAction.ACCEPTED;
+            case REJECTED:
+                return OfferAction.REJECTED;
+            default:
+                return OfferAction.COUNTERED;
+        }
+    }
+}
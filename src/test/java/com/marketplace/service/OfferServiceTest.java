@@ -13,11 +13,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class OfferServiceTest {
@@ -62,10 +69,10 @@ class OfferServiceTest {
     @Test
     void testAcceptOffer() {
         // Arrange
-        when(offerRepository.findByOfferId("offer123")).thenReturn(Optional.of(offer));
+        when(offerRepository.updateIfStatus(eq("offer123"), eq("sellerId"), eq("seller123"),
+                eq(OfferStatus.PENDING), any(Update.class))).thenReturn(Optional.of(offer));
         when(userService.findByUserId("seller123")).thenReturn(seller);
         when(userService.findByUserId("buyer123")).thenReturn(buyer);
-        when(offerRepository.save(any(Offer.class))).thenReturn(offer);
 
         // Act
         var result = offerService.acceptOffer("offer123", "seller123");
@@ -75,14 +82,15 @@ class OfferServiceTest {
         assertEquals("Offer accepted successfully", result.get("message"));
         assertNotNull(result.get("buyer_contact"));
         assertNotNull(result.get("seller_contact"));
-        verify(offerRepository).save(any(Offer.class));
+        verify(offerRepository, never()).findByOfferId(anyString());
+        verify(offerRepository, never()).save(any(Offer.class));
     }
 
     @Test
     void testRejectOffer() {
         // Arrange
-        when(offerRepository.findByOfferId("offer123")).thenReturn(Optional.of(offer));
-        when(offerRepository.save(any(Offer.class))).thenReturn(offer);
+        when(offerRepository.updateIfStatus(eq("offer123"), eq("sellerId"), eq("seller123"),
+                eq(OfferStatus.PENDING), any(Update.class))).thenReturn(Optional.of(offer));
 
         // Act
         var result = offerService.rejectOffer("offer123", "seller123");
@@ -90,14 +98,14 @@ class OfferServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("Offer rejected successfully", result.get("message"));
-        verify(offerRepository).save(any(Offer.class));
+        verify(offerRepository, never()).save(any(Offer.class));
     }
 
     @Test
     void testCounterOffer() {
         // Arrange
-        when(offerRepository.findByOfferId("offer123")).thenReturn(Optional.of(offer));
-        when(offerRepository.save(any(Offer.class))).thenReturn(offer);
+        when(offerRepository.updateIfStatus(eq("offer123"), eq("sellerId"), eq("seller123"),
+                eq(OfferStatus.PENDING), any(Update.class))).thenReturn(Optional.of(offer));
 
         CounterOfferRequest request = new CounterOfferRequest();
         request.setAmount(1200.0);
@@ -109,6 +117,104 @@ class OfferServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("Counter offer sent successfully", result.get("message"));
-        verify(offerRepository).save(any(Offer.class));
+        verify(offerRepository, never()).save(any(Offer.class));
+    }
+
+    @Test
+    void testAcceptOfferFailsWhenNoLongerPending() {
+        // Arrange
+        offer.setStatus(OfferStatus.REJECTED);
+        when(offerRepository.updateIfStatus(anyString(), anyString(), anyString(), any(), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(offerRepository.findByOfferId("offer123")).thenReturn(Optional.of(offer));
+
+        // Act
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> offerService.acceptOffer("offer123", "seller123"));
+
+        // Assert
+        assertEquals("Offer is not pending", e.getMessage());
+    }
+
+    @Test
+    void testAcceptOfferFailsForNonSeller() {
+        // Arrange
+        when(offerRepository.updateIfStatus(anyString(), anyString(), anyString(), any(), any(Update.class)))
+                .thenReturn(Optional.empty());
+        when(offerRepository.findByOfferId("offer123")).thenReturn(Optional.of(offer));
+
+        // Act
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> offerService.acceptOffer("offer123", "buyer123"));
+
+        // Assert
+        assertEquals("Only seller can accept offer", e.getMessage());
+    }
+
+    @Test
+    void testGetReceivedOffersQueryCountIsConstant() {
+        for (int offerCount : new int[] { 1, 50, 500 }) {
+            // Arrange
+            clearInvocations(offerRepository, productRepository, userService);
+            List<Offer> offers = buildOffers(offerCount, OfferStatus.PENDING);
+            when(offerRepository.findBySellerIdOrderByCreatedAtDesc("seller123")).thenReturn(offers);
+            when(productRepository.findNamesByProductIdIn(anyCollection())).thenReturn(buildProducts(offerCount));
+
+            // Act
+            var result = offerService.getReceivedOffers("seller123");
+
+            // Assert
+            List<?> details = (List<?>) result.get("offers");
+            assertEquals(offerCount, details.size());
+            assertEquals("Product " + (offerCount - 1), ((Map<?, ?>) details.get(offerCount - 1)).get("product_name"));
+            verify(productRepository, times(1)).findNamesByProductIdIn(anyCollection());
+            verify(productRepository, never()).findByProductIdAndIsActiveTrue(anyString());
+        }
+    }
+
+    @Test
+    void testGetSentOffersQueryCountIsConstant() {
+        for (int offerCount : new int[] { 1, 50, 500 }) {
+            // Arrange
+            clearInvocations(offerRepository, productRepository, userService);
+            List<Offer> offers = buildOffers(offerCount, OfferStatus.ACCEPTED);
+            when(offerRepository.findByBuyerIdOrderByCreatedAtDesc("buyer123")).thenReturn(offers);
+            when(productRepository.findNamesByProductIdIn(anyCollection())).thenReturn(buildProducts(offerCount));
+            when(userService.findContactsByUserIds(anyCollection())).thenReturn(Map.of("seller123", seller));
+
+            // Act
+            var result = offerService.getSentOffers("buyer123");
+
+            // Assert
+            List<?> details = (List<?>) result.get("offers");
+            assertEquals(offerCount, details.size());
+            assertNotNull(((Map<?, ?>) details.get(0)).get("seller_contact"));
+            verify(productRepository, times(1)).findNamesByProductIdIn(anyCollection());
+            verify(userService, times(1)).findContactsByUserIds(anyCollection());
+            verify(productRepository, never()).findByProductIdAndIsActiveTrue(anyString());
+            verify(userService, never()).findByUserId(anyString());
+        }
+    }
+
+    private List<Offer> buildOffers(int count, OfferStatus status) {
+        List<Offer> offers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Offer o = new Offer("offer" + i, "product" + i, "buyer123", "John Buyer",
+                    "buyer@test.com", "seller123", 1000.0 + i, null);
+            o.setStatus(status);
+            offers.add(o);
+        }
+        return offers;
+    }
+
+    private List<Product> buildProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product p = new Product();
+            p.setProductId("product" + i);
+            p.setName("Product " + i);
+            products.add(p);
+        }
+        return products;
     }
-} 
\ No newline at end of file
+}
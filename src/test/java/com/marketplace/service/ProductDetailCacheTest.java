@@ -0,0 +1,147 @@
+package com.marketplace.service;
+
+import com.marketplace.dto.ProductDisplayDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductDetailCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private StorageService storageService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(StorageService.class);
+        when(storageService.getUrlLifetime()).thenReturn(Duration.ofHours(12));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testTtlIsCappedByStorageUrlLifetime() {
+        // Arrange
+        when(storageService.getUrlLifetime()).thenReturn(Duration.ofMinutes(10));
+        ProductDetailCache cache = cache(Duration.ofMinutes(30));
+        cache.get("p1", loader());
+
+        // Act
+        advance(Duration.ofMinutes(9));
+        cache.get("p1", loader());
+        advance(Duration.ofMinutes(2));
+        cache.get("p1", loader());
+
+        // Assert: still cached at 9 minutes, reloaded once the 10-minute URL lifetime has passed
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testConfiguredTtlAppliesWhenShorterThanUrlLifetime() {
+        // Arrange
+        ProductDetailCache cache = cache(Duration.ofMinutes(30));
+        cache.get("p1", loader());
+
+        // Act
+        advance(Duration.ofMinutes(31));
+        cache.get("p1", loader());
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testMissesAreNotCached() {
+        // Arrange
+        ProductDetailCache cache = cache(Duration.ofMinutes(30));
+        Function<String, ProductDisplayDto> notFound = productId -> {
+            loads.incrementAndGet();
+            throw new RuntimeException("Product not found");
+        };
+
+        // Act
+        assertThrows(RuntimeException.class, () -> cache.get("missing", notFound));
+        assertThrows(RuntimeException.class, () -> cache.get("missing", notFound));
+        ProductDisplayDto loaded = cache.get("missing", loader());
+
+        // Assert
+        assertEquals(3, loads.get());
+        assertEquals("missing", loaded.getProductId());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        // Arrange
+        ProductDetailCache cache = cache(Duration.ofMinutes(30));
+        cache.get("p1", loader());
+        cache.get("p2", loader());
+
+        // Act
+        cache.invalidate("p1");
+        cache.invalidate(null);
+        cache.get("p1", loader());
+        cache.get("p2", loader());
+
+        // Assert: only p1 was loaded again
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsNotCached() {
+        // Arrange: the product is updated while its old details are still being loaded
+        ProductDetailCache cache = cache(Duration.ofMinutes(30));
+        Function<String, ProductDisplayDto> staleLoader = productId -> {
+            cache.invalidate(productId);
+            return loader().apply(productId);
+        };
+
+        // Act
+        cache.get("p1", staleLoader);
+        cache.get("p1", loader());
+
+        // Assert: the stale result was served once but not kept
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testHitsAndMissesArePublishedAsMetrics() {
+        // Arrange
+        ProductDetailCache cache = cache(Duration.ofMinutes(30));
+
+        // Act
+        cache.get("p1", loader());
+        cache.get("p1", loader());
+        cache.get("p1", loader());
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "products.detail").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products.detail").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private ProductDetailCache cache(Duration ttl) {
+        return new ProductDetailCache(storageService, meterRegistry, 100, ttl, nanos::get);
+    }
+
+    private Function<String, ProductDisplayDto> loader() {
+        return productId -> {
+            loads.incrementAndGet();
+            ProductDisplayDto dto = new ProductDisplayDto();
+            dto.setProductId(productId);
+            return dto;
+        };
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}